@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.safehtml.shared.SafeHtml;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering throughput with one thread per core, all sharing the same
+ * factories and static caches. Compare with a single thread (<code>-t 1</code>)
+ * to check that throughput scales with the number of cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ConcurrentRenderBenchmark {
+
+  private final PooledHtmlBuilderFactory bounded = PooledHtmlBuilderFactory.bounded(256);
+  private final PooledHtmlBuilderFactory perThread = PooledHtmlBuilderFactory.perThread();
+
+  @Benchmark
+  public SafeHtml boundedPool() {
+    return renderRow(bounded);
+  }
+
+  @Benchmark
+  public SafeHtml perThreadPool() {
+    return renderRow(perThread);
+  }
+
+  @Benchmark
+  public SafeHtml sharedFactory() {
+    return renderRow(HtmlBuilderFactory.get());
+  }
+
+  private static SafeHtml renderRow(HtmlBuilderFactory factory) {
+    HtmlTableRowBuilder tr = factory.createTRBuilder();
+    tr.className("row");
+    for (int i = 0; i < 4; i++) {
+      TableCellBuilder td = tr.startTD();
+      td.style().trustedProperty("paddingLeft", "4px").trustedProperty("textAlign", "right")
+          .endStyle();
+      td.text("cell & value").endTD();
+    }
+    return tr.asSafeHtml();
+  }
+}
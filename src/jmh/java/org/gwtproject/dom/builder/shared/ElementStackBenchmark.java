@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.safehtml.shared.SafeHtml;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the element stack when building large structures: a
+ * wide table and a deeply nested tree. The builders come from a
+ * {@link PooledHtmlBuilderFactory}, so the output buffer is recycled and the
+ * allocation reported by the GC profiler (gc.alloc.rate.norm) is mostly the
+ * bookkeeping done per element.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ElementStackBenchmark {
+
+  @Param({"100"})
+  private int cells;
+
+  @Param({"500"})
+  private int depth;
+
+  @Param({"100"})
+  private int rows;
+
+  private final PooledHtmlBuilderFactory factory = PooledHtmlBuilderFactory.perThread();
+
+  @Benchmark
+  public SafeHtml deepNesting() {
+    HtmlDivBuilder root = factory.createDivBuilder();
+    ElementBuilderBase<?> current = root;
+    for (int i = 1; i < depth; i++) {
+      current = current.startDiv();
+    }
+    current.text("leaf");
+    return root.asSafeHtml();
+  }
+
+  @Benchmark
+  public SafeHtml largeTable() {
+    HtmlTableBuilder table = factory.createTableBuilder();
+    TableSectionBuilder tbody = table.startTBody();
+    for (int r = 0; r < rows; r++) {
+      TableRowBuilder tr = tbody.startTR();
+      for (int c = 0; c < cells; c++) {
+        tr.startTD().text("cell").endTD();
+      }
+      tr.endTR();
+    }
+    tbody.endTBody();
+    return table.asSafeHtml();
+  }
+}
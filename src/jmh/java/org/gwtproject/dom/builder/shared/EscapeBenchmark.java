@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.safehtml.shared.SafeHtmlUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares escaping text directly into the output buffer, as
+ * {@link HtmlBuilderImpl} does, with {@link SafeHtmlUtils#htmlEscape(String)},
+ * which returns a new string.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EscapeBenchmark {
+
+  @Param({"plain text without any special characters",
+      "text with <tags>, \"quotes\", 'apostrophes' & ampersands"})
+  private String text;
+
+  private final StringBuilder sb = new StringBuilder();
+
+  @Benchmark
+  public int appendEscaped() {
+    sb.setLength(0);
+    HtmlBuilderImpl.appendEscaped(sb, text);
+    return sb.length();
+  }
+
+  @Benchmark
+  public int htmlEscape() {
+    sb.setLength(0);
+    sb.append(SafeHtmlUtils.htmlEscape(text));
+    return sb.length();
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.dom.builder.shared.ForkJoinHtmlBuilderFactory.SlotRenderer;
+import org.gwtproject.safehtml.shared.SafeHtml;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering a dashboard of independent panels sequentially with
+ * rendering each panel in a slot of a {@link ForkJoinHtmlBuilderFactory}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForkJoinRenderBenchmark {
+
+  @Param({"16"})
+  private int panels;
+
+  @Param({"200"})
+  private int rows;
+
+  private final ForkJoinHtmlBuilderFactory forkJoin = ForkJoinHtmlBuilderFactory.create();
+
+  private final SlotRenderer panelRenderer = new SlotRenderer() {
+    @Override
+    public SafeHtml render(HtmlBuilderFactory factory) {
+      return renderPanel(factory);
+    }
+  };
+
+  @Benchmark
+  public SafeHtml forkJoin() {
+    HtmlDivBuilder page = forkJoin.createDivBuilder();
+    for (int i = 0; i < panels; i++) {
+      forkJoin.fork(page, panelRenderer);
+    }
+    return page.asSafeHtml();
+  }
+
+  @Benchmark
+  public SafeHtml sequential() {
+    HtmlDivBuilder page = HtmlBuilderFactory.get().createDivBuilder();
+    for (int i = 0; i < panels; i++) {
+      TableBuilder table = page.startTable();
+      renderRows(table);
+      table.endTable();
+    }
+    return page.asSafeHtml();
+  }
+
+  private SafeHtml renderPanel(HtmlBuilderFactory factory) {
+    HtmlTableBuilder table = factory.createTableBuilder();
+    renderRows(table);
+    return table.asSafeHtml();
+  }
+
+  private void renderRows(TableBuilder table) {
+    TableSectionBuilder tbody = table.startTBody();
+    for (int r = 0; r < rows; r++) {
+      TableRowBuilder tr = tbody.startTR();
+      for (int c = 0; c < 8; c++) {
+        tr.startTD().text("r" + r + " & c" + c).endTD();
+      }
+      tr.endTR();
+    }
+    tbody.endTBody();
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.dom.builder.shared.FragmentCache.FragmentRenderer;
+import org.gwtproject.safehtml.shared.SafeHtml;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering a menu every time with adding it from a
+ * {@link FragmentCache}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FragmentCacheBenchmark {
+
+  private static final FragmentRenderer MENU = new FragmentRenderer() {
+    @Override
+    public SafeHtml render(HtmlBuilderFactory factory) {
+      HtmlUListBuilder ul = factory.createUListBuilder();
+      ul.className("menu");
+      for (int i = 0; i < 20; i++) {
+        ul.startLI().className("item").startAnchor().href("/page/" + i).text("Page " + i)
+            .endAnchor();
+        ul.endLI();
+      }
+      return ul.asSafeHtml();
+    }
+  };
+
+  private final FragmentCache cache = new FragmentCache(64 * 1024);
+
+  @Benchmark
+  public SafeHtml cached() {
+    HtmlDivBuilder div = HtmlBuilderFactory.get().createDivBuilder();
+    cache.appendTo(div, "menu", 1, MENU);
+    return div.asSafeHtml();
+  }
+
+  @Benchmark
+  public SafeHtml rendered() {
+    HtmlDivBuilder div = HtmlBuilderFactory.get().createDivBuilder();
+    div.html(MENU.render(HtmlBuilderFactory.get()));
+    return div.asSafeHtml();
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.safehtml.shared.SafeHtml;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the default {@link HtmlBuilderFactory} on the shapes of HTML that
+ * applications typically render: small fragments, deeply nested trees, wide
+ * tables and documents that are mostly text. Each shape is also measured with
+ * the {@link UncheckedHtmlBuilderFactory} to show the cost of the state
+ * checks. Run with the GC profiler
+ * (<code>./gradlew jmh -Pjmh.include=HtmlBuilderBenchmark</code>) to report
+ * the allocation rate alongside the throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HtmlBuilderBenchmark {
+
+  @Param({"true", "false"})
+  private boolean checked;
+
+  @Param({"200"})
+  private int depth;
+
+  private HtmlBuilderFactory factory;
+
+  @Param({"50"})
+  private int paragraphs;
+
+  @Param({"100"})
+  private int rows;
+
+  private String[] sentences;
+
+  @Setup
+  public void setUp() {
+    factory = checked ? HtmlBuilderFactory.get() : UncheckedHtmlBuilderFactory.get();
+    sentences = new String[paragraphs];
+    for (int i = 0; i < paragraphs; i++) {
+      sentences[i] = "Paragraph " + i + " has plain text, a few <tags> & some \"quotes\" "
+          + "that need escaping, and enough words to look like a real document.";
+    }
+  }
+
+  @Benchmark
+  public SafeHtml deepNesting() {
+    HtmlDivBuilder root = factory.createDivBuilder();
+    ElementBuilderBase<?> current = root;
+    for (int i = 1; i < depth; i++) {
+      current = current.startDiv().className("level");
+    }
+    current.text("leaf");
+    return root.asSafeHtml();
+  }
+
+  @Benchmark
+  public SafeHtml smallFragment() {
+    HtmlDivBuilder div = factory.createDivBuilder();
+    div.className("item").startSpan().title("value").text("42").endSpan();
+    return div.asSafeHtml();
+  }
+
+  @Benchmark
+  public SafeHtml textHeavy() {
+    HtmlDivBuilder div = factory.createDivBuilder();
+    for (String sentence : sentences) {
+      div.startParagraph().text(sentence).endParagraph();
+    }
+    return div.asSafeHtml();
+  }
+
+  @Benchmark
+  public SafeHtml wideTable() {
+    HtmlTableBuilder table = factory.createTableBuilder();
+    TableSectionBuilder tbody = table.startTBody();
+    for (int r = 0; r < rows; r++) {
+      TableRowBuilder tr = tbody.startTR().className(r % 2 == 0 ? "even" : "odd");
+      for (int c = 0; c < 20; c++) {
+        TableCellBuilder td = tr.startTD();
+        td.style().trustedProperty("textAlign", "right").trustedProperty("paddingLeft", "4px")
+            .endStyle();
+        td.text("r" + r + "c" + c).endTD();
+      }
+      tr.endTR();
+    }
+    tbody.endTBody();
+    return table.asSafeHtml();
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.safehtml.shared.SafeHtml;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering small cell fragments with a new output buffer per
+ * fragment against the recycled buffers of a
+ * {@link PooledHtmlBuilderFactory}. Run with the GC profiler to compare the
+ * allocation rate (gc.alloc.rate.norm) of each mode.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HtmlBuilderPoolBenchmark {
+
+  private final HtmlBuilderFactory unpooled = HtmlBuilderFactory.get();
+  private final PooledHtmlBuilderFactory perThread = PooledHtmlBuilderFactory.perThread();
+  private final PooledHtmlBuilderFactory bounded = PooledHtmlBuilderFactory.bounded(256);
+
+  @Benchmark
+  public SafeHtml boundedPool() {
+    return renderCell(bounded);
+  }
+
+  @Benchmark
+  public SafeHtml perThreadPool() {
+    return renderCell(perThread);
+  }
+
+  @Benchmark
+  public SafeHtml unpooled() {
+    return renderCell(unpooled);
+  }
+
+  private static SafeHtml renderCell(HtmlBuilderFactory factory) {
+    HtmlTableCellBuilder td = factory.createTDBuilder();
+    td.className("cell").startSpan().title("value").text("42").endSpan();
+    return td.asSafeHtml();
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.dom.client.CssPropertyNames;
+import org.gwtproject.dom.style.shared.Unit;
+import org.gwtproject.safehtml.shared.SafeHtml;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of camelCase style property names to their
+ * hyphenated form, both through the shared cache used by
+ * {@link HtmlStylesBuilder} and without it, and the cost of writing numeric
+ * style values.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HtmlStylesBuilderBenchmark {
+
+  private static final String[] NAMES = {
+      "backgroundColor", "borderTopWidth", "color", "fontSize", "marginLeft", "paddingRight",
+      "textAlign", "verticalAlign", "whiteSpace", "zIndex"};
+
+  @Benchmark
+  public void hyphenate(Blackhole blackhole) {
+    for (String name : NAMES) {
+      blackhole.consume(CssPropertyNames.hyphenate(name));
+    }
+  }
+
+  @Benchmark
+  public SafeHtml numericProperties() {
+    HtmlDivBuilder div = HtmlBuilderFactory.get().createDivBuilder();
+    div.style().left(120, Unit.PX).top(48.5, Unit.PX).width(33.333333, Unit.PCT)
+        .height(1.25, Unit.EM).endStyle();
+    return div.asSafeHtml();
+  }
+
+  @Benchmark
+  public void toHyphenatedForm(Blackhole blackhole) {
+    for (String name : NAMES) {
+      blackhole.consume(HtmlStylesBuilder.toHyphenatedForm(name));
+    }
+  }
+
+  @Benchmark
+  public void toHyphenatedFormAlreadyHyphenated(Blackhole blackhole) {
+    blackhole.consume(HtmlStylesBuilder.toHyphenatedForm("background-color"));
+    blackhole.consume(HtmlStylesBuilder.toHyphenatedForm("border-top-width"));
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.client;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Element#indexOfName(String, String)}, which backs
+ * {@link Element#addClassName(String)}, {@link Element#hasClassName(String)}
+ * and {@link Element#removeClassName(String)}. The class list contains names
+ * that share a prefix with the one looked up, so the search has to skip
+ * partial matches.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ElementBenchmark {
+
+  private final String classNames =
+      "gwt-Button gwt-Button-primary gwt-ButtonBar selected gwt-Button-disabled active";
+
+  @Benchmark
+  public int indexOfNameFirst() {
+    return Element.indexOfName(classNames, "gwt-Button");
+  }
+
+  @Benchmark
+  public int indexOfNameLast() {
+    return Element.indexOfName(classNames, "active");
+  }
+
+  @Benchmark
+  public int indexOfNameMissing() {
+    return Element.indexOfName(classNames, "gwt-Button-hover");
+  }
+}
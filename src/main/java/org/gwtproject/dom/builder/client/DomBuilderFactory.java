@@ -17,8 +17,11 @@ package org.gwtproject.dom.builder.client;
 
 import org.gwtproject.dom.builder.shared.ElementBuilder;
 import org.gwtproject.dom.builder.shared.ElementBuilderFactory;
+import org.gwtproject.dom.builder.shared.ElementTemplate;
+import org.gwtproject.dom.builder.shared.HydrationHtmlBuilderFactory;
 import org.gwtproject.dom.builder.shared.InputBuilder;
 import org.gwtproject.dom.builder.shared.TableColBuilder;
+import org.gwtproject.dom.client.Element;
 
 /**
  * Factory for creating element builders that construct elements using DOM
@@ -26,7 +29,12 @@ import org.gwtproject.dom.builder.shared.TableColBuilder;
  */
 public class DomBuilderFactory extends ElementBuilderFactory {
 
-  private static DomBuilderFactory instance;
+  /**
+   * Holds the instance, which is created when the holder class is initialized.
+   */
+  private static class InstanceHolder {
+    private static final DomBuilderFactory INSTANCE = new DomBuilderFactory();
+  }
 
   /**
    * Get the instance of the {@link DomBuilderFactory}.
@@ -40,16 +48,94 @@ public class DomBuilderFactory extends ElementBuilderFactory {
    * @return the {@link ElementBuilderFactory}
    */
   public static DomBuilderFactory get() {
-    if (instance == null) {
-      instance = new DomBuilderFactory();
+    return InstanceHolder.INSTANCE;
+  }
+
+  /**
+   * Get a factory whose builders adopt existing elements instead of creating
+   * new ones. The elements must have been rendered by a
+   * {@link HydrationHtmlBuilderFactory}, and the builders must make the same
+   * calls that rendered them, starting with the element <code>root</code>.
+   * 
+   * <p>
+   * Starting an element binds the builder to the next marked element, so the
+   * returned elements can be used as if they had just been built. Attributes,
+   * style properties, text and HTML are already present and are not set again.
+   * The factory builds a single top level element.
+   * </p>
+   * 
+   * @param root the existing top level element, which has the marker 0
+   * @return a new {@link DomBuilderFactory}
+   * @throws IllegalStateException from the builders if the existing elements
+   *           do not match the builder calls
+   */
+  public static DomBuilderFactory hydrate(Element root) {
+    return new DomBuilderFactory(root, 0);
+  }
+
+  /**
+   * Get a factory whose builders create the outer levels of the structure with
+   * DOM manipulation, and build the deeper elements as HTML.
+   * 
+   * <p>
+   * Elements up to <code>structureDepth</code> levels deep, counting the top
+   * level element as 1, are created with DOM manipulation, so the builders
+   * return them and references to them can be kept. Deeper elements are built
+   * as HTML, and the HTML of all of the children of an element is parsed and
+   * inserted in a single operation when the element is ended. This avoids a
+   * DOM call for each element of text heavy leaves, such as the contents of
+   * the cells of a grid, while only the new subtrees are parsed.
+   * </p>
+   * 
+   * <p>
+   * As with other builders, the builder of any open element can start, end or
+   * add attributes, text and html to the current element, whether it is built
+   * as HTML or with DOM manipulation. Only the properties specific to an
+   * element built as HTML, such as the column span of a cell, must be set with
+   * its own builder.
+   * </p>
+   * 
+   * <pre>
+   * // Build the table, sections, rows and cells as DOM, and the cell contents as HTML.
+   * TableBuilder table = DomBuilderFactory.hybrid(4).createTableBuilder();
+   * </pre>
+   * 
+   * @param structureDepth the number of levels created with DOM manipulation
+   * @return a new {@link DomBuilderFactory}
+   * @throws IllegalArgumentException if <code>structureDepth</code> is less
+   *           than 1
+   */
+  public static DomBuilderFactory hybrid(int structureDepth) {
+    if (structureDepth < 1) {
+      throw new IllegalArgumentException("The structure depth must be at least 1, not "
+          + structureDepth);
     }
-    return instance;
+    return new DomBuilderFactory(null, structureDepth);
   }
 
+  /**
+   * The element adopted by the next builder, or null to create new elements.
+   */
+  private final Element hydrationRoot;
+
+  /**
+   * The number of levels created with DOM manipulation, or 0 for all levels.
+   */
+  private final int structureDepth;
+
   /**
    * Created from static factory method.
    */
   public DomBuilderFactory() {
+    this(null, 0);
+  }
+
+  /**
+   * Created from {@link #hydrate(Element)} or {@link #hybrid(int)}.
+   */
+  private DomBuilderFactory(Element hydrationRoot, int structureDepth) {
+    this.hydrationRoot = hydrationRoot;
+    this.structureDepth = structureDepth;
   }
 
   @Override
@@ -397,7 +483,16 @@ public class DomBuilderFactory extends ElementBuilderFactory {
     return impl().trustedStart(tagName);
   }
 
-  private DomBuilderImpl impl() {
-    return new DomBuilderImpl();
+  @Override
+  protected Element finishTemplate(ElementTemplate template, Object[] args) {
+    if (hydrationRoot != null) {
+      // Replay the calls to adopt the existing elements.
+      return super.finishTemplate(template, args);
+    }
+    return template.cloneElement(args);
+  }
+
+  DomBuilderImpl impl() {
+    return new DomBuilderImpl(hydrationRoot, structureDepth);
   }
 }
@@ -18,10 +18,17 @@ package org.gwtproject.dom.builder.client;
 import org.gwtproject.safehtml.shared.SafeHtml;
 import org.gwtproject.dom.builder.shared.ElementBuilderBase;
 import org.gwtproject.dom.builder.shared.ElementBuilderImpl;
+import org.gwtproject.dom.builder.shared.ElementTemplate;
+import org.gwtproject.dom.builder.shared.HtmlFragmentBuilder;
+import org.gwtproject.dom.builder.shared.HydrationHtmlBuilderFactory;
 import org.gwtproject.dom.builder.shared.InputBuilder;
 import org.gwtproject.dom.builder.shared.StylesBuilder;
 import org.gwtproject.dom.client.*;
 
+import jsinterop.annotations.JsFunction;
+import jsinterop.base.Js;
+import jsinterop.base.JsPropertyMap;
+
 /**
  * Implementation of methods in
  * {@link ElementBuilderBase} used to render
@@ -29,6 +36,20 @@ import org.gwtproject.dom.client.*;
  */
 class DomBuilderImpl extends ElementBuilderImpl {
 
+  /**
+   * A native attribute method of an element.
+   */
+  @JsFunction
+  private interface AttributeFunction {
+    void call(String name, String value);
+  }
+
+  /**
+   * A stand-in for the current element that ignores the attributes set while
+   * adopting existing elements, which already have them.
+   */
+  private static Element ignoredElement;
+
   /*
    * Common element builders are created on initialization to avoid null checks.
    * Less common element builders are created lazily to avoid unnecessary object
@@ -72,7 +93,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
   private DomSelectBuilder selectBuilder;
   private DomSourceBuilder sourceBuilder;
   private final DomSpanBuilder spanBuilder = new DomSpanBuilder(this);
-  private final StylesBuilder stylesBuilder = new DomStylesBuilder(this);
+  private final DomStylesBuilder stylesBuilder = new DomStylesBuilder(this);
   private DomStyleBuilder styleBuilder;
   private DomTableBuilder tableBuilder;
   private final DomTableCellBuilder tableCellBuilder = new DomTableCellBuilder(this);
@@ -96,11 +117,109 @@ class DomBuilderImpl extends ElementBuilderImpl {
    */
   private Element currentElement;
 
+  /**
+   * The existing element to adopt as the root element, or null to create new
+   * elements.
+   */
+  private final Element hydrationRoot;
+
+  /**
+   * The index of the next element to adopt, in document order.
+   */
+  private int nextHydrationIndex;
+
+  /**
+   * The last adopted child of the current element, or null if none.
+   */
+  private Element previousSibling;
+
+  /**
+   * The detached fragment that receives the top level elements, or null to
+   * build a single unattached root element.
+   */
+  private final DocumentFragment fragment;
+
+  /**
+   * The number of open elements from which child elements are built as HTML,
+   * or 0 to build all elements with DOM manipulation.
+   */
+  private final int htmlDepth;
+
+  /**
+   * The HTML of the child elements added to the current element since it was
+   * started, or null if none.
+   */
+  private HtmlFragmentBuilder pendingHtml;
+
+  /**
+   * Construct a builder that creates new elements.
+   */
+  DomBuilderImpl() {
+    this(null, null, 0);
+  }
+
+  /**
+   * Construct a builder that appends its top level elements to a fragment.
+   * 
+   * @param fragment the fragment to build into
+   */
+  DomBuilderImpl(DocumentFragment fragment) {
+    this(null, fragment, 0);
+  }
+
+  /**
+   * Construct a builder.
+   * 
+   * @param hydrationRoot the existing element to adopt as the root element, or
+   *          null to create new elements
+   * @param htmlDepth the number of open elements from which child elements are
+   *          built as HTML, or 0 to build all elements with DOM manipulation
+   */
+  DomBuilderImpl(Element hydrationRoot, int htmlDepth) {
+    this(hydrationRoot, null, htmlDepth);
+  }
+
+  private DomBuilderImpl(Element hydrationRoot, DocumentFragment fragment, int htmlDepth) {
+    this.hydrationRoot = hydrationRoot;
+    this.fragment = fragment;
+    this.htmlDepth = htmlDepth;
+  }
+
+  @Override
+  public void end() {
+    ElementBuilderBase<?> html = getOpenHtmlBuilder();
+    if (html == null) {
+      super.end();
+    } else {
+      html.end();
+    }
+  }
+
+  @Override
+  public void end(String tagName) {
+    ElementBuilderBase<?> html = getOpenHtmlBuilder();
+    if (html == null) {
+      super.end(tagName);
+    } else {
+      html.end(tagName);
+    }
+  }
+
+  @Override
+  public void html(SafeHtml html) {
+    ElementBuilderBase<?> builder = getOpenHtmlBuilder();
+    if (builder == null) {
+      super.html(html);
+    } else {
+      builder.html(html);
+    }
+  }
+
   public DomAnchorBuilder startAnchor() {
     if (anchorBuilder == null) {
       anchorBuilder = new DomAnchorBuilder(this);
     }
-    start(Document.get().createAnchorElement(), anchorBuilder);
+    start(AnchorElement.TAG, anchorBuilder);
     return anchorBuilder;
   }
 
@@ -108,7 +227,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (areaBuilder == null) {
       areaBuilder = new DomAreaBuilder(this);
     }
-    start(Document.get().createAreaElement(), areaBuilder);
+    start(AreaElement.TAG, areaBuilder);
     return areaBuilder;
   }
 
@@ -116,7 +235,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (audioBuilder == null) {
       audioBuilder = new DomAudioBuilder(this);
     }
-    start(Document.get().createAudioElement(), audioBuilder);
+    start(AudioElement.TAG, audioBuilder);
     return audioBuilder;
   }
 
@@ -124,19 +243,19 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (baseBuilder == null) {
       baseBuilder = new DomBaseBuilder(this);
     }
-    start(Document.get().createBaseElement(), baseBuilder);
+    start(BaseElement.TAG, baseBuilder);
     return baseBuilder;
   }
 
   public DomQuoteBuilder startBlockQuote() {
-    return startQuote(Document.get().createBlockQuoteElement());
+    return startQuote(QuoteElement.TAG_BLOCKQUOTE);
   }
 
   public DomBodyBuilder startBody() {
     if (bodyBuilder == null) {
       bodyBuilder = new DomBodyBuilder(this);
     }
-    start(Document.get().createElement("body"), bodyBuilder);
+    start(BodyElement.TAG, bodyBuilder);
     return bodyBuilder;
   }
 
@@ -144,31 +263,31 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (brBuilder == null) {
       brBuilder = new DomBRBuilder(this);
     }
-    start(Document.get().createBRElement(), brBuilder);
+    start(BRElement.TAG, brBuilder);
     return brBuilder;
   }
 
   public InputBuilder startButtonInput() {
-    return startInput(Document.get().createButtonInputElement());
+    return startInput("button");
   }
 
   public DomCanvasBuilder startCanvas() {
     if (canvasBuilder == null) {
       canvasBuilder = new DomCanvasBuilder(this);
     }
-    start(Document.get().createCanvasElement(), canvasBuilder);
+    start(CanvasElement.TAG, canvasBuilder);
     return canvasBuilder;
   }
 
   public InputBuilder startCheckboxInput() {
-    return startInput(Document.get().createCheckInputElement());
+    return startInput("checkbox");
   }
 
   public DomTableColBuilder startCol() {
     if (tableColBuilder == null) {
       tableColBuilder = new DomTableColBuilder(this, false);
     }
-    start(Document.get().createColElement(), tableColBuilder);
+    start(TableColElement.TAG_COL, tableColBuilder);
     return tableColBuilder;
   }
 
@@ -176,12 +295,12 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (tableColGroupBuilder == null) {
       tableColGroupBuilder = new DomTableColBuilder(this, true);
     }
-    start(Document.get().createColGroupElement(), tableColGroupBuilder);
+    start(TableColElement.TAG_COLGROUP, tableColGroupBuilder);
     return tableColGroupBuilder;
   }
 
   public DomDivBuilder startDiv() {
-    start(Document.get().createDivElement(), divBuilder);
+    start(DivElement.TAG, divBuilder);
     return divBuilder;
   }
 
@@ -189,7 +308,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (dListBuilder == null) {
       dListBuilder = new DomDListBuilder(this);
     }
-    start(Document.get().createDLElement(), dListBuilder);
+    start(DListElement.TAG, dListBuilder);
     return dListBuilder;
   }
 
@@ -197,19 +316,19 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (fieldSetBuilder == null) {
       fieldSetBuilder = new DomFieldSetBuilder(this);
     }
-    start(Document.get().createFieldSetElement(), fieldSetBuilder);
+    start(FieldSetElement.TAG, fieldSetBuilder);
     return fieldSetBuilder;
   }
 
   public InputBuilder startFileInput() {
-    return startInput(Document.get().createFileInputElement());
+    return startInput("file");
   }
 
   public DomFormBuilder startForm() {
     if (formBuilder == null) {
       formBuilder = new DomFormBuilder(this);
     }
-    start(Document.get().createFormElement(), formBuilder);
+    start(FormElement.TAG, formBuilder);
     return formBuilder;
   }
 
@@ -217,7 +336,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (frameBuilder == null) {
       frameBuilder = new DomFrameBuilder(this);
     }
-    start(Document.get().createFrameElement(), frameBuilder);
+    start(FrameElement.TAG, frameBuilder);
     return frameBuilder;
   }
 
@@ -225,7 +344,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (frameSetBuilder == null) {
       frameSetBuilder = new DomFrameSetBuilder(this);
     }
-    start(Document.get().createFrameSetElement(), frameSetBuilder);
+    start(FrameSetElement.TAG, frameSetBuilder);
     return frameSetBuilder;
   }
 
@@ -257,19 +376,19 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (headBuilder == null) {
       headBuilder = new DomHeadBuilder(this);
     }
-    start(Document.get().createHeadElement(), headBuilder);
+    start(HeadElement.TAG, headBuilder);
     return headBuilder;
   }
 
   public InputBuilder startHiddenInput() {
-    return startInput(Document.get().createHiddenInputElement());
+    return startInput("hidden");
   }
 
   public DomHRBuilder startHR() {
     if (hrBuilder == null) {
       hrBuilder = new DomHRBuilder(this);
     }
-    start(Document.get().createHRElement(), hrBuilder);
+    start(HRElement.TAG, hrBuilder);
     return hrBuilder;
   }
 
@@ -277,7 +396,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (iFrameBuilder == null) {
       iFrameBuilder = new DomIFrameBuilder(this);
     }
-    start(Document.get().createIFrameElement(), iFrameBuilder);
+    start(IFrameElement.TAG, iFrameBuilder);
     return iFrameBuilder;
   }
 
@@ -285,27 +404,19 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (imageBuilder == null) {
       imageBuilder = new DomImageBuilder(this);
     }
-    start(Document.get().createImageElement(), imageBuilder);
+    start(ImageElement.TAG, imageBuilder);
     return imageBuilder;
   }
 
   public InputBuilder startImageInput() {
-    return startInput(Document.get().createImageInputElement());
-  }
-
-  /**
-   * Start an input using the specified InputElement.
-   */
-  public DomInputBuilder startInput(InputElement input) {
-    start(input, inputBuilder);
-    return inputBuilder;
+    return startInput("image");
   }
 
   public DomLabelBuilder startLabel() {
     if (labelBuilder == null) {
       labelBuilder = new DomLabelBuilder(this);
     }
-    start(Document.get().createLabelElement(), labelBuilder);
+    start(LabelElement.TAG, labelBuilder);
     return labelBuilder;
   }
 
@@ -313,12 +424,12 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (legendBuilder == null) {
       legendBuilder = new DomLegendBuilder(this);
     }
-    start(Document.get().createLegendElement(), legendBuilder);
+    start(LegendElement.TAG, legendBuilder);
     return legendBuilder;
   }
 
   public DomLIBuilder startLI() {
-    start(Document.get().createLIElement(), liBuilder);
+    start(LIElement.TAG, liBuilder);
     return liBuilder;
   }
 
@@ -326,7 +437,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (linkBuilder == null) {
       linkBuilder = new DomLinkBuilder(this);
     }
-    start(Document.get().createLinkElement(), linkBuilder);
+    start(LinkElement.TAG, linkBuilder);
     return linkBuilder;
   }
 
@@ -334,7 +445,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (mapBuilder == null) {
       mapBuilder = new DomMapBuilder(this);
     }
-    start(Document.get().createMapElement(), mapBuilder);
+    start(MapElement.TAG, mapBuilder);
     return mapBuilder;
   }
 
@@ -342,7 +453,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (metaBuilder == null) {
       metaBuilder = new DomMetaBuilder(this);
     }
-    start(Document.get().createMetaElement(), metaBuilder);
+    start(MetaElement.TAG, metaBuilder);
     return metaBuilder;
   }
 
@@ -350,7 +461,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (oListBuilder == null) {
       oListBuilder = new DomOListBuilder(this);
     }
-    start(Document.get().createOLElement(), oListBuilder);
+    start(OListElement.TAG, oListBuilder);
     return oListBuilder;
   }
 
@@ -358,12 +469,12 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (optGroupBuilder == null) {
       optGroupBuilder = new DomOptGroupBuilder(this);
     }
-    start(Document.get().createOptGroupElement(), optGroupBuilder);
+    start(OptGroupElement.TAG, optGroupBuilder);
     return optGroupBuilder;
   }
 
   public DomOptionBuilder startOption() {
-    start(Document.get().createOptionElement(), optionBuilder);
+    start(OptionElement.TAG, optionBuilder);
     return optionBuilder;
   }
 
@@ -371,7 +482,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (paragraphBuilder == null) {
       paragraphBuilder = new DomParagraphBuilder(this);
     }
-    start(Document.get().createPElement(), paragraphBuilder);
+    start(ParagraphElement.TAG, paragraphBuilder);
     return paragraphBuilder;
   }
 
@@ -379,47 +490,49 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (paramBuilder == null) {
       paramBuilder = new DomParamBuilder(this);
     }
-    start(Document.get().createParamElement(), paramBuilder);
+    start(ParamElement.TAG, paramBuilder);
     return paramBuilder;
   }
 
   public InputBuilder startPasswordInput() {
-    return startInput(Document.get().createPasswordInputElement());
+    return startInput("password");
   }
 
   public DomPreBuilder startPre() {
     if (preBuilder == null) {
       preBuilder = new DomPreBuilder(this);
     }
-    start(Document.get().createPreElement(), preBuilder);
+    start(PreElement.TAG, preBuilder);
     return preBuilder;
   }
 
   public DomButtonBuilder startPushButton() {
-    return startButton(Document.get().createPushButtonElement());
+    return startButton("button");
   }
 
   public DomQuoteBuilder startQuote() {
-    return startQuote(Document.get().createQElement());
+    return startQuote(QuoteElement.TAG_Q);
   }
 
   public InputBuilder startRadioInput(String name) {
-    return startInput(Document.get().createRadioInputElement(name));
+    DomInputBuilder builder = startInput("radio");
+    builder.name(name);
+    return builder;
   }
 
   public DomButtonBuilder startResetButton() {
-    return startButton(Document.get().createResetButtonElement());
+    return startButton("reset");
   }
 
   public InputBuilder startResetInput() {
-    return startInput(Document.get().createSubmitInputElement());
+    return startInput("reset");
   }
 
   public DomScriptBuilder startScript() {
     if (scriptBuilder == null) {
       scriptBuilder = new DomScriptBuilder(this);
     }
-    start(Document.get().createScriptElement(), scriptBuilder);
+    start(ScriptElement.TAG, scriptBuilder);
     return scriptBuilder;
   }
 
@@ -427,7 +540,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (selectBuilder == null) {
       selectBuilder = new DomSelectBuilder(this);
     }
-    start(Document.get().createSelectElement(), selectBuilder);
+    start(SelectElement.TAG, selectBuilder);
     return selectBuilder;
   }
 
@@ -435,12 +548,12 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (sourceBuilder == null) {
       sourceBuilder = new DomSourceBuilder(this);
     }
-    start(Document.get().createSourceElement(), sourceBuilder);
+    start(SourceElement.TAG, sourceBuilder);
     return sourceBuilder;
   }
 
   public DomSpanBuilder startSpan() {
-    start(Document.get().createSpanElement(), spanBuilder);
+    start(SpanElement.TAG, spanBuilder);
     return spanBuilder;
   }
 
@@ -448,23 +561,23 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (styleBuilder == null) {
       styleBuilder = new DomStyleBuilder(this);
     }
-    start(Document.get().createStyleElement(), styleBuilder);
+    start(StyleElement.TAG, styleBuilder);
     return styleBuilder;
   }
 
   public DomButtonBuilder startSubmitButton() {
-    return startButton(Document.get().createSubmitButtonElement());
+    return startButton("submit");
   }
 
   public InputBuilder startSubmitInput() {
-    return startInput(Document.get().createSubmitInputElement());
+    return startInput("submit");
   }
 
   public DomTableBuilder startTable() {
     if (tableBuilder == null) {
       tableBuilder = new DomTableBuilder(this);
     }
-    start(Document.get().createTableElement(), tableBuilder);
+    start(TableElement.TAG, tableBuilder);
     return tableBuilder;
   }
 
@@ -472,16 +585,16 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (tableCaptionBuilder == null) {
       tableCaptionBuilder = new DomTableCaptionBuilder(this);
     }
-    start(Document.get().createCaptionElement(), tableCaptionBuilder);
+    start(TableCaptionElement.TAG, tableCaptionBuilder);
     return tableCaptionBuilder;
   }
 
   public DomTableSectionBuilder startTBody() {
-    return startTableSection(Document.get().createTBodyElement());
+    return startTableSection(TableSectionElement.TAG_TBODY);
   }
 
   public DomTableCellBuilder startTD() {
-    start(Document.get().createTDElement(), tableCellBuilder);
+    start(TableCellElement.TAG_TD, tableCellBuilder);
     return tableCellBuilder;
   }
 
@@ -489,25 +602,25 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (textAreaBuilder == null) {
       textAreaBuilder = new DomTextAreaBuilder(this);
     }
-    start(Document.get().createTextAreaElement(), textAreaBuilder);
+    start(TextAreaElement.TAG, textAreaBuilder);
     return textAreaBuilder;
   }
 
   public DomTableSectionBuilder startTFoot() {
-    return startTableSection(Document.get().createTFootElement());
+    return startTableSection(TableSectionElement.TAG_TFOOT);
   }
 
   public DomTableCellBuilder startTH() {
-    start(Document.get().createTHElement(), tableCellBuilder);
+    start(TableCellElement.TAG_TH, tableCellBuilder);
     return tableCellBuilder;
   }
 
   public DomTableSectionBuilder startTHead() {
-    return startTableSection(Document.get().createTHeadElement());
+    return startTableSection(TableSectionElement.TAG_THEAD);
   }
 
   public DomTableRowBuilder startTR() {
-    start(Document.get().createTRElement(), tableRowBuilder);
+    start(TableRowElement.TAG, tableRowBuilder);
     return tableRowBuilder;
   }
 
@@ -515,7 +628,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (uListBuilder == null) {
       uListBuilder = new DomUListBuilder(this);
     }
-    start(Document.get().createULElement(), uListBuilder);
+    start(UListElement.TAG, uListBuilder);
     return uListBuilder;
   }
 
@@ -523,13 +636,24 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (videoBuilder == null) {
       videoBuilder = new DomVideoBuilder(this);
     }
-    start(Document.get().createVideoElement(), videoBuilder);
+    start(VideoElement.TAG, videoBuilder);
     return videoBuilder;
   }
 
   @Override
   public StylesBuilder style() {
-    return stylesBuilder;
+    ElementBuilderBase<?> html = getOpenHtmlBuilder();
+    return (html == null) ? stylesBuilder : html.style();
+  }
+
+  @Override
+  public void text(String text) {
+    ElementBuilderBase<?> html = getOpenHtmlBuilder();
+    if (html == null) {
+      super.text(text);
+    } else {
+      html.text(text);
+    }
   }
 
   public DomElementBuilder trustedStart(String tagName) {
@@ -539,7 +663,7 @@ class DomBuilderImpl extends ElementBuilderImpl {
      * IllegalArgumentException.
      */
     assertValidTagName(tagName);
-    start(Document.get().createElement(tagName), elementBuilder);
+    start(tagName, elementBuilder);
     return elementBuilder;
   }
 
@@ -550,7 +674,18 @@ class DomBuilderImpl extends ElementBuilderImpl {
 
   @Override
   protected void doCloseStyleAttributeImpl() {
-    // No-op.
+    String cssText = stylesBuilder.flush();
+
+    // Adopted elements already have their style properties.
+    if (hydrationRoot == null && !cssText.isEmpty()) {
+      // Write all of the style properties in a single mutation.
+      Element element = getCurrentElement();
+      String existing = element.getAttribute("style");
+      if (!existing.isEmpty()) {
+        cssText = existing + (existing.endsWith(";") ? "" : ";") + cssText;
+      }
+      element.setAttribute("style", cssText);
+    }
   }
 
   @Override
@@ -570,7 +705,9 @@ class DomBuilderImpl extends ElementBuilderImpl {
 
   @Override
   protected void doHtmlImpl(SafeHtml html) {
-    getCurrentElement().setInnerSafeHtml(html);
+    if (hydrationRoot == null) {
+      getCurrentElement().setInnerSafeHtml(html);
+    }
   }
 
   @Override
@@ -580,7 +717,30 @@ class DomBuilderImpl extends ElementBuilderImpl {
 
   @Override
   protected void doTextImpl(String text) {
-    getCurrentElement().setInnerText(text);
+    if (hydrationRoot == null) {
+      getCurrentElement().setInnerText(text);
+    }
+  }
+
+  @Override
+  protected void allowNextRoot() {
+    // Overridden for visibility.
+    super.allowNextRoot();
+  }
+
+  @Override
+  protected boolean appendTemplate(ElementTemplate template, Object[] args) {
+    if (hydrationRoot != null) {
+      // Replay the calls to adopt the existing elements.
+      return false;
+    }
+    if (htmlDepth != 0 && getDepth() >= htmlDepth) {
+      // Replay the calls to add the template to the HTML children in order.
+      return false;
+    }
+    onTrustedChild();
+    getCurrentElement().appendChild(template.cloneElement(args));
+    return true;
   }
 
   @Override
@@ -593,22 +753,26 @@ class DomBuilderImpl extends ElementBuilderImpl {
    * Assert that the builder is in a state where an attribute can be added.
    * 
    * @return the element on which the attribute can be set
-   * @throw {@link IllegalStateException} if the start tag is closed
+   * @throw {@link IllegalStateException} if the start tag is closed, or the
+   *        current element is built as HTML
    */
   Element assertCanAddAttribute() {
+    if (getOpenHtmlBuilder() != null) {
+      throw new IllegalStateException("The element properties of an element built as HTML "
+          + "must be set with its own builder.");
+    }
     assertCanAddAttributeImpl();
-    return getCurrentElement();
+    return getTargetElement();
   }
 
   /**
    * Assert that the builder is in a state where a style property can be added.
+   * The property is written when the style attribute is closed.
    * 
-   * @return the {@link Style} on which the property can be set
    * @throw {@link IllegalStateException} if the style is not accessible
    */
-  Style assertCanAddStyleProperty() {
+  void assertCanAddStyleProperty() {
     assertCanAddStylePropertyImpl();
-    return getCurrentElement().getStyle();
   }
 
   /**
@@ -621,30 +785,137 @@ class DomBuilderImpl extends ElementBuilderImpl {
     return currentElement;
   }
 
+  /**
+   * Get the builder of the innermost open element built as HTML. Calls that
+   * act on the current element go to this builder while there is one.
+   * 
+   * @return the builder, or null if the current element was created with DOM
+   *         manipulation
+   */
+  ElementBuilderBase<?> getOpenHtmlBuilder() {
+    return (pendingHtml == null) ? null : pendingHtml.getOpenBuilder();
+  }
+
+  /**
+   * Get the builder of the next child element if the child is built as HTML.
+   * The child is added to the HTML of the current element, or of its innermost
+   * open child built as HTML. The HTML is inserted into the element in a single
+   * operation when the element is ended.
+   * 
+   * @return the {@link HtmlFragmentBuilder} that builds the child, or null to
+   *         build the child with DOM manipulation
+   */
+  HtmlFragmentBuilder htmlChild() {
+    if (htmlDepth == 0 || getDepth() < htmlDepth) {
+      return null;
+    }
+    if (pendingHtml == null) {
+      pendingHtml = HtmlFragmentBuilder.createChildren(this);
+    }
+    return pendingHtml;
+  }
+
   InputBuilder startTextInput() {
-    return startInput(Document.get().createTextInputElement());
+    return startInput("text");
+  }
+
+  /**
+   * Find the existing element that corresponds to a newly started element.
+   * 
+   * @param tagName the tag name of the element that would have been added
+   * @return the existing element
+   * @throws IllegalStateException if the existing element does not match
+   */
+  private Element adopt(String tagName) {
+    Element existing;
+    if (rootElement == null) {
+      existing = hydrationRoot;
+    } else if (previousSibling != null) {
+      existing = previousSibling.getNextSiblingElement();
+    } else {
+      existing = getCurrentElement().getFirstChildElement();
+    }
+
+    // Skip elements that were not built by the builder API.
+    String marker = HydrationHtmlBuilderFactory.MARKER_ATTRIBUTE;
+    while (existing != null && !existing.hasAttribute(marker)) {
+      existing = existing.getNextSiblingElement();
+    }
+
+    String index = String.valueOf(nextHydrationIndex++);
+    if (existing == null || !index.equals(existing.getAttribute(marker))
+        || !existing.getTagName().equalsIgnoreCase(tagName)) {
+      throw new IllegalStateException("The existing DOM does not match element " + index
+          + ": expected " + tagName + " with " + marker + "=\"" + index + "\"");
+    }
+    return existing;
+  }
+
+  /**
+   * Get the element on which attributes are set.
+   */
+  private Element getTargetElement() {
+    Element element = getCurrentElement();
+    if (hydrationRoot == null) {
+      return element;
+    }
+    if (ignoredElement == null) {
+      AttributeFunction ignore = new AttributeFunction() {
+        @Override
+        public void call(String name, String value) {
+        }
+      };
+      JsPropertyMap<Object> ignored = JsPropertyMap.of();
+      ignored.set("setAttribute", ignore);
+      ignored.set("removeAttribute", ignore);
+      ignoredElement = Js.uncheckedCast(ignored);
+    }
+    return ignoredElement;
   }
 
   /**
    * Pop to the previous element in the stack.
    */
   private void popElement() {
-    currentElement = getCurrentElement().getParentElement();
+    if (pendingHtml != null) {
+      // Parse and insert the HTML children at once.
+      pendingHtml.appendTo(getCurrentElement());
+      pendingHtml = null;
+    }
+    previousSibling = getCurrentElement();
+    // An adopted root element is still attached to its parent.
+    currentElement = (previousSibling == rootElement) ? null : previousSibling.getParentElement();
   }
 
   /**
-   * Start a child element.
+   * Start a child element. The tag name is not validated again; it is either a
+   * built-in tag or was validated by {@link #trustedStart(String)}.
    * 
-   * @param element the element to start
+   * @param tagName the tag name of the element to start
    * @param builder the builder used to builder the new element
    */
-  private void start(Element element, ElementBuilderBase<?> builder) {
-    onStart(element.getTagName(), builder);
+  private void start(String tagName, ElementBuilderBase<?> builder) {
+    onBuiltInStart(tagName, builder);
 
+    if (hydrationRoot != null) {
+      // Adopt the existing element instead of creating a new one.
+      Element element = adopt(tagName);
+      if (rootElement == null) {
+        rootElement = element;
+      }
+      previousSibling = null;
+      currentElement = element;
+      return;
+    }
+
+    Element element = Document.get().createElement(tagName);
     // Set the root element.
-    if (rootElement == null) {
+    if (rootElement == null || (fragment != null && currentElement == null)) {
       // This is the new root element.
       rootElement = element;
+      if (fragment != null) {
+        fragment.appendChild(element);
+      }
     } else {
       // Appending to the current element.
       getCurrentElement().appendChild(element);
@@ -655,13 +926,14 @@ class DomBuilderImpl extends ElementBuilderImpl {
   }
 
   /**
-   * Start a button using the specified {@link ButtonElement}.
+   * Start a button of the specified type.
    */
-  private DomButtonBuilder startButton(ButtonElement button) {
+  private DomButtonBuilder startButton(String type) {
     if (buttonBuilder == null) {
       buttonBuilder = new DomButtonBuilder(this);
     }
-    start(button, buttonBuilder);
+    start(ButtonElement.TAG, buttonBuilder);
+    getTargetElement().setAttribute("type", type);
     return buttonBuilder;
   }
 
@@ -672,29 +944,38 @@ class DomBuilderImpl extends ElementBuilderImpl {
     if (headingBuilder == null) {
       headingBuilder = new DomHeadingBuilder(this);
     }
-    start(Document.get().createHElement(level), headingBuilder);
+    start("h" + level, headingBuilder);
     return headingBuilder;
   }
 
+  /**
+   * Start an input of the specified type.
+   */
+  private DomInputBuilder startInput(String type) {
+    start(InputElement.TAG, inputBuilder);
+    getTargetElement().setAttribute("type", type);
+    return inputBuilder;
+  }
+
   /**
    * Start a quote or blockquote.
    */
-  private DomQuoteBuilder startQuote(QuoteElement quote) {
+  private DomQuoteBuilder startQuote(String tagName) {
     if (quoteBuilder == null) {
       quoteBuilder = new DomQuoteBuilder(this);
     }
-    start(quote, quoteBuilder);
+    start(tagName, quoteBuilder);
     return quoteBuilder;
   }
 
   /**
-   * Start a table section using the specified {@link TableSectionElement}.
+   * Start a table section with the specified tag name.
    */
-  private DomTableSectionBuilder startTableSection(TableSectionElement section) {
+  private DomTableSectionBuilder startTableSection(String tagName) {
     if (tableSectionBuilder == null) {
       tableSectionBuilder = new DomTableSectionBuilder(this);
     }
-    start(section, tableSectionBuilder);
+    start(tagName, tableSectionBuilder);
     return tableSectionBuilder;
   }
 }
@@ -33,6 +33,7 @@ import org.gwtproject.dom.builder.shared.FormBuilder;
 import org.gwtproject.dom.builder.shared.FrameBuilder;
 import org.gwtproject.dom.builder.shared.FrameSetBuilder;
 import org.gwtproject.dom.builder.shared.HRBuilder;
+import org.gwtproject.dom.builder.shared.HtmlFragmentBuilder;
 import org.gwtproject.dom.builder.shared.HeadBuilder;
 import org.gwtproject.dom.builder.shared.HeadingBuilder;
 import org.gwtproject.dom.builder.shared.IFrameBuilder;
@@ -106,401 +107,515 @@ public class DomElementBuilderBase<R extends ElementBuilderBase<?>, E extends El
 
   @Override
   public R attribute(String name, int value) {
-    assertCanAddAttribute().setAttribute(name, String.valueOf(value));
+    ElementBuilderBase<?> html = delegate.getOpenHtmlBuilder();
+    if (html == null) {
+      assertCanAddAttribute().setAttribute(name, String.valueOf(value));
+    } else {
+      html.attribute(name, value);
+    }
     return getReturnBuilder();
   }
 
   @Override
   public R attribute(String name, String value) {
-    assertCanAddAttribute().setAttribute(name, value);
+    ElementBuilderBase<?> html = delegate.getOpenHtmlBuilder();
+    if (html == null) {
+      assertCanAddAttribute().setAttribute(name, value);
+    } else {
+      html.attribute(name, value);
+    }
     return getReturnBuilder();
   }
 
   @Override
   public R className(String className) {
-    assertCanAddAttribute().setClassName(className);
+    ElementBuilderBase<?> html = delegate.getOpenHtmlBuilder();
+    if (html == null) {
+      assertCanAddAttribute().setClassName(className);
+    } else {
+      html.className(className);
+    }
     return getReturnBuilder();
   }
 
   @Override
   public R dir(String dir) {
-    assertCanAddAttribute().setDir(dir);
+    ElementBuilderBase<?> html = delegate.getOpenHtmlBuilder();
+    if (html == null) {
+      assertCanAddAttribute().setDir(dir);
+    } else {
+      html.dir(dir);
+    }
     return getReturnBuilder();
   }
 
   @Override
   public R draggable(String draggable) {
-    assertCanAddAttribute().setDraggable(draggable);
+    ElementBuilderBase<?> html = delegate.getOpenHtmlBuilder();
+    if (html == null) {
+      assertCanAddAttribute().setDraggable(draggable);
+    } else {
+      html.draggable(draggable);
+    }
     return getReturnBuilder();
   }
 
   @Override
   public R id(String id) {
-    assertCanAddAttribute().setId(id);
+    ElementBuilderBase<?> html = delegate.getOpenHtmlBuilder();
+    if (html == null) {
+      assertCanAddAttribute().setId(id);
+    } else {
+      html.id(id);
+    }
     return getReturnBuilder();
   }
 
   @Override
   public R lang(String lang) {
-    assertCanAddAttribute().setLang(lang);
+    ElementBuilderBase<?> html = delegate.getOpenHtmlBuilder();
+    if (html == null) {
+      assertCanAddAttribute().setLang(lang);
+    } else {
+      html.lang(lang);
+    }
     return getReturnBuilder();
   }
 
   @Override
   public AnchorBuilder startAnchor() {
-    return delegate.startAnchor();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startAnchor() : html.createAnchorBuilder();
   }
 
   @Override
   public AreaBuilder startArea() {
-    return delegate.startArea();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startArea() : html.createAreaBuilder();
   }
 
   @Override
   public AudioBuilder startAudio() {
-    return delegate.startAudio();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startAudio() : html.createAudioBuilder();
   }
 
   @Override
   public BaseBuilder startBase() {
-    return delegate.startBase();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startBase() : html.createBaseBuilder();
   }
 
   @Override
   public QuoteBuilder startBlockQuote() {
-    return delegate.startBlockQuote();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startBlockQuote() : html.createBlockQuoteBuilder();
   }
 
   @Override
   public BodyBuilder startBody() {
-    return delegate.startBody();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startBody() : html.createBodyBuilder();
   }
 
   @Override
   public BRBuilder startBR() {
-    return delegate.startBR();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startBR() : html.createBRBuilder();
   }
 
   @Override
   public InputBuilder startButtonInput() {
-    return delegate.startButtonInput();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startButtonInput() : html.createButtonInputBuilder();
   }
 
   @Override
   public CanvasBuilder startCanvas() {
-    return delegate.startCanvas();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startCanvas() : html.createCanvasBuilder();
   }
 
   @Override
   public InputBuilder startCheckboxInput() {
-    return delegate.startCheckboxInput();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startCheckboxInput() : html.createCheckboxInputBuilder();
   }
 
   @Override
   public TableColBuilder startCol() {
-    return delegate.startCol();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startCol() : html.createColBuilder();
   }
 
   @Override
   public TableColBuilder startColGroup() {
-    return delegate.startColGroup();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startColGroup() : html.createColGroupBuilder();
   }
 
   @Override
   public DivBuilder startDiv() {
-    return delegate.startDiv();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startDiv() : html.createDivBuilder();
   }
 
   @Override
   public DListBuilder startDList() {
-    return delegate.startDList();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startDList() : html.createDListBuilder();
   }
 
   @Override
   public FieldSetBuilder startFieldSet() {
-    return delegate.startFieldSet();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startFieldSet() : html.createFieldSetBuilder();
   }
 
   @Override
   public InputBuilder startFileInput() {
-    return delegate.startFileInput();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startFileInput() : html.createFileInputBuilder();
   }
 
   @Override
   public FormBuilder startForm() {
-    return delegate.startForm();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startForm() : html.createFormBuilder();
   }
 
   @Override
   public FrameBuilder startFrame() {
-    return delegate.startFrame();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startFrame() : html.createFrameBuilder();
   }
 
   @Override
   public FrameSetBuilder startFrameSet() {
-    return delegate.startFrameSet();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startFrameSet() : html.createFrameSetBuilder();
   }
 
   @Override
   public HeadingBuilder startH1() {
-    return delegate.startH1();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startH1() : html.createH1Builder();
   }
 
   @Override
   public HeadingBuilder startH2() {
-    return delegate.startH2();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startH2() : html.createH2Builder();
   }
 
   @Override
   public HeadingBuilder startH3() {
-    return delegate.startH3();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startH3() : html.createH3Builder();
   }
 
   @Override
   public HeadingBuilder startH4() {
-    return delegate.startH4();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startH4() : html.createH4Builder();
   }
 
   @Override
   public HeadingBuilder startH5() {
-    return delegate.startH5();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startH5() : html.createH5Builder();
   }
 
   @Override
   public HeadingBuilder startH6() {
-    return delegate.startH6();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startH6() : html.createH6Builder();
   }
 
   @Override
   public HeadBuilder startHead() {
-    return delegate.startHead();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startHead() : html.createHeadBuilder();
   }
 
   @Override
   public InputBuilder startHiddenInput() {
-    return delegate.startHiddenInput();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startHiddenInput() : html.createHiddenInputBuilder();
   }
 
   @Override
   public HRBuilder startHR() {
-    return delegate.startHR();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startHR() : html.createHRBuilder();
   }
 
   @Override
   public IFrameBuilder startIFrame() {
-    return delegate.startIFrame();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startIFrame() : html.createIFrameBuilder();
   }
 
   @Override
   public ImageBuilder startImage() {
-    return delegate.startImage();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startImage() : html.createImageBuilder();
   }
 
   @Override
   public InputBuilder startImageInput() {
-    return delegate.startImageInput();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startImageInput() : html.createImageInputBuilder();
   }
 
   @Override
   public LabelBuilder startLabel() {
-    return delegate.startLabel();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startLabel() : html.createLabelBuilder();
   }
 
   @Override
   public LegendBuilder startLegend() {
-    return delegate.startLegend();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startLegend() : html.createLegendBuilder();
   }
 
   @Override
   public LIBuilder startLI() {
-    return delegate.startLI();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startLI() : html.createLIBuilder();
   }
 
   @Override
   public LinkBuilder startLink() {
-    return delegate.startLink();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startLink() : html.createLinkBuilder();
   }
 
   @Override
   public MapBuilder startMap() {
-    return delegate.startMap();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startMap() : html.createMapBuilder();
   }
 
   @Override
   public MetaBuilder startMeta() {
-    return delegate.startMeta();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startMeta() : html.createMetaBuilder();
   }
 
   @Override
   public OListBuilder startOList() {
-    return delegate.startOList();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startOList() : html.createOListBuilder();
   }
 
   @Override
   public OptGroupBuilder startOptGroup() {
-    return delegate.startOptGroup();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startOptGroup() : html.createOptGroupBuilder();
   }
 
   @Override
   public OptionBuilder startOption() {
-    return delegate.startOption();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startOption() : html.createOptionBuilder();
   }
 
   @Override
   public ParagraphBuilder startParagraph() {
-    return delegate.startParagraph();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startParagraph() : html.createParagraphBuilder();
   }
 
   @Override
   public ParamBuilder startParam() {
-    return delegate.startParam();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startParam() : html.createParamBuilder();
   }
 
   @Override
   public InputBuilder startPasswordInput() {
-    return delegate.startPasswordInput();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startPasswordInput() : html.createPasswordInputBuilder();
   }
 
   @Override
   public PreBuilder startPre() {
-    return delegate.startPre();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startPre() : html.createPreBuilder();
   }
 
   @Override
   public ButtonBuilder startPushButton() {
-    return delegate.startPushButton();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startPushButton() : html.createPushButtonBuilder();
   }
 
   @Override
   public QuoteBuilder startQuote() {
-    return delegate.startQuote();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startQuote() : html.createQuoteBuilder();
   }
 
   @Override
   public InputBuilder startRadioInput(String name) {
-    return delegate.startRadioInput(name);
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startRadioInput(name) : html.createRadioInputBuilder(name);
   }
 
   @Override
   public ButtonBuilder startResetButton() {
-    return delegate.startResetButton();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startResetButton() : html.createResetButtonBuilder();
   }
 
   @Override
   public InputBuilder startResetInput() {
-    return delegate.startResetInput();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startResetInput() : html.createResetInputBuilder();
   }
 
   @Override
   public ScriptBuilder startScript() {
-    return delegate.startScript();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startScript() : html.createScriptBuilder();
   }
 
   @Override
   public SelectBuilder startSelect() {
-    return delegate.startSelect();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startSelect() : html.createSelectBuilder();
   }
 
   @Override
   public SourceBuilder startSource() {
-    return delegate.startSource();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startSource() : html.createSourceBuilder();
   }
 
   @Override
   public SpanBuilder startSpan() {
-    return delegate.startSpan();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startSpan() : html.createSpanBuilder();
   }
 
   @Override
   public StyleBuilder startStyle() {
-    return delegate.startStyle();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startStyle() : html.createStyleBuilder();
   }
 
   @Override
   public ButtonBuilder startSubmitButton() {
-    return delegate.startSubmitButton();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startSubmitButton() : html.createSubmitButtonBuilder();
   }
 
   @Override
   public InputBuilder startSubmitInput() {
-    return delegate.startSubmitInput();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startSubmitInput() : html.createSubmitInputBuilder();
   }
 
   @Override
   public TableBuilder startTable() {
-    return delegate.startTable();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startTable() : html.createTableBuilder();
   }
 
   @Override
   public TableCaptionBuilder startTableCaption() {
-    return delegate.startTableCaption();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startTableCaption() : html.createTableCaptionBuilder();
   }
 
   @Override
   public TableSectionBuilder startTBody() {
-    return delegate.startTBody();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startTBody() : html.createTBodyBuilder();
   }
 
   @Override
   public TableCellBuilder startTD() {
-    return delegate.startTD();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startTD() : html.createTDBuilder();
   }
 
   @Override
   public TextAreaBuilder startTextArea() {
-    return delegate.startTextArea();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startTextArea() : html.createTextAreaBuilder();
   }
 
   @Override
   public InputBuilder startTextInput() {
-    return delegate.startTextInput();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startTextInput() : html.createTextInputBuilder();
   }
 
   @Override
   public TableSectionBuilder startTFoot() {
-    return delegate.startTFoot();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startTFoot() : html.createTFootBuilder();
   }
 
   @Override
   public TableCellBuilder startTH() {
-    return delegate.startTH();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startTH() : html.createTHBuilder();
   }
 
   @Override
   public TableSectionBuilder startTHead() {
-    return delegate.startTHead();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startTHead() : html.createTHeadBuilder();
   }
 
   @Override
   public TableRowBuilder startTR() {
-    return delegate.startTR();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startTR() : html.createTRBuilder();
   }
 
   @Override
   public UListBuilder startUList() {
-    return delegate.startUList();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startUList() : html.createUListBuilder();
   }
 
   @Override
   public VideoBuilder startVideo() {
-    return delegate.startVideo();
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.startVideo() : html.createVideoBuilder();
   }
 
   @Override
   public R tabIndex(int tabIndex) {
-    assertCanAddAttribute().setTabIndex(tabIndex);
+    ElementBuilderBase<?> html = delegate.getOpenHtmlBuilder();
+    if (html == null) {
+      assertCanAddAttribute().setTabIndex(tabIndex);
+    } else {
+      html.tabIndex(tabIndex);
+    }
     return getReturnBuilder();
   }
 
   @Override
   public R title(String title) {
-    assertCanAddAttribute().setTitle(title);
+    ElementBuilderBase<?> html = delegate.getOpenHtmlBuilder();
+    if (html == null) {
+      assertCanAddAttribute().setTitle(title);
+    } else {
+      html.title(title);
+    }
     return getReturnBuilder();
   }
 
   @Override
   public ElementBuilder trustedStart(String tagName) {
-    return delegate.trustedStart(tagName);
+    HtmlFragmentBuilder html = delegate.htmlChild();
+    return (html == null) ? delegate.trustedStart(tagName) : html.trustedCreate(tagName);
   }
 
   /**
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.client;
+
+import org.gwtproject.dom.builder.shared.ElementTemplate;
+import org.gwtproject.dom.client.Document;
+import org.gwtproject.dom.client.DocumentFragment;
+import org.gwtproject.dom.client.Element;
+import org.gwtproject.dom.client.Node;
+
+/**
+ * Builds a list of top level elements under a detached
+ * {@link DocumentFragment}, so that they can be inserted into the document in
+ * a single operation.
+ * 
+ * <p>
+ * A builder created by a {@link DomBuilderFactory} can only build one top level
+ * element, and each one must be inserted into the document separately. A
+ * fragment builder is a factory whose builders all append to the same
+ * fragment: each call to a <code>createXxxBuilder()</code> method ends the
+ * previous top level element and starts the next one after it. The elements
+ * are built while the fragment is detached, so the browser does not lay out
+ * the document until the whole list is inserted by {@link #appendTo(Element)},
+ * {@link #insertBefore(Node)} or {@link #replaceChildren(Element)}.
+ * </p>
+ * 
+ * <pre>
+ * DomFragmentBuilder fragment = DomFragmentBuilder.create();
+ * for (Item item : items) {
+ *   fragment.createLIBuilder().className("item").text(item.getName()).endLI();
+ * }
+ * fragment.appendTo(list);
+ * </pre>
+ * 
+ * <p>
+ * Inserting the fragment moves its elements into the document and leaves the
+ * fragment empty, so the builder can be used again to build another list. Do
+ * not call <code>finish()</code> on the builders of the individual elements.
+ * </p>
+ */
+public class DomFragmentBuilder extends DomBuilderFactory {
+
+  /**
+   * Create a fragment builder.
+   * 
+   * @return the {@link DomFragmentBuilder}
+   */
+  public static DomFragmentBuilder create() {
+    return new DomFragmentBuilder(Document.get().createDocumentFragment());
+  }
+
+  private final DomBuilderImpl delegate;
+  private final DocumentFragment fragment;
+
+  /**
+   * Created from static factory method.
+   */
+  private DomFragmentBuilder(DocumentFragment fragment) {
+    this.fragment = fragment;
+    this.delegate = new DomBuilderImpl(fragment);
+  }
+
+  /**
+   * Append the elements of the fragment to the end of an element.
+   * 
+   * @param parent the element to append to
+   */
+  public void appendTo(Element parent) {
+    parent.appendChild(finish());
+  }
+
+  /**
+   * End the last top level element and return the fragment that holds all of
+   * them.
+   * 
+   * @return the {@link DocumentFragment}
+   */
+  public DocumentFragment finish() {
+    delegate.allowNextRoot();
+    return fragment;
+  }
+
+  /**
+   * Insert the elements of the fragment before a node in the document.
+   * 
+   * @param refChild the node that will follow the elements
+   * @throws IllegalStateException if the node does not have a parent
+   */
+  public void insertBefore(Node refChild) {
+    Node parent = refChild.getParentNode();
+    if (parent == null) {
+      throw new IllegalStateException("Cannot insert before a node without a parent.");
+    }
+    parent.insertBefore(finish(), refChild);
+  }
+
+  /**
+   * Replace the children of an element with the elements of the fragment.
+   * 
+   * @param parent the element whose children are replaced
+   */
+  public void replaceChildren(Element parent) {
+    DocumentFragment elements = finish();
+    parent.removeAllChildren();
+    parent.appendChild(elements);
+  }
+
+  @Override
+  protected Element finishTemplate(ElementTemplate template, Object[] args) {
+    delegate.allowNextRoot();
+    return fragment.appendChild(super.finishTemplate(template, args));
+  }
+
+  @Override
+  DomBuilderImpl impl() {
+    delegate.allowNextRoot();
+    return delegate;
+  }
+}
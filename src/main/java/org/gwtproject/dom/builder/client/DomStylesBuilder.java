@@ -15,116 +15,45 @@
  */
 package org.gwtproject.dom.builder.client;
 
-import jsinterop.base.Js;
-import jsinterop.base.JsPropertyMap;
 import org.gwtproject.dom.builder.shared.StylesBuilder;
+import org.gwtproject.dom.client.CssNumberFormat;
+import org.gwtproject.dom.client.CssPropertyNames;
 import org.gwtproject.dom.style.shared.*;
 import org.gwtproject.dom.style.shared.Float;
-import org.gwtproject.regexp.shared.MatchResult;
-import org.gwtproject.regexp.shared.RegExp;
+import org.gwtproject.safecss.shared.SafeStyles;
+import org.gwtproject.safecss.shared.SafeStylesUtils;
 import org.gwtproject.safehtml.shared.SafeUri;
 import org.gwtproject.safehtml.shared.annotations.IsSafeUri;
 
-import java.util.Locale;
-
 /**
  * Builds the style object.
+ * 
+ * <p>
+ * Style properties are not set on the element one at a time, because each
+ * write mutates and reparses its style attribute. They are collected as CSS
+ * text, and {@link DomBuilderImpl} writes them to the element at once when the
+ * style attribute is closed.
+ * </p>
  */
 class DomStylesBuilder implements StylesBuilder {
 
   /**
-   * A map of hyphenated style properties to their camelCase equivalents.
-   * 
-   * The set of style property names is limited, and common ones are reused
-   * frequently, so caching saves us from converting every style property name
-   * from hyphenated to camelCase form.
+   * Convert a camelCase or hyphenated string to a hyphenated string, the same
+   * way as the HTML builder.
    * 
-   * Use a {@link JsPropertyMap} to avoid the dynamic casts associated with
-   * the emulated version of {@link java.util.Map}.
-   */
-  private static JsPropertyMap<String> hyphenatedMap;
-
-  /**
-   * Regex to match a word in a hyphenated phrase. A word starts with an a
-   * hyphen or a letter, followed by zero or more characters letters. For
-   * example, in the phrase background-url, the pattern matches "background" and
-   * "-url".
-   */
-  private static RegExp maybeHyphenatedWord;
-
-  /**
-   * Convert a hyphenated or camelCase string to a camelCase string.
-   * 
-   * @param name the hyphenated or camelCase string to convert
+   * @param name the camelCase or hyphenated string to convert
    * @return the hyphenated string
+   * @see CssPropertyNames#toHyphenatedForm(String)
    */
   // Visible for testing
-  static String toCamelCaseForm(String name) {
-    // Static initializers.
-    if (hyphenatedMap == null) {
-      hyphenatedMap = Js.uncheckedCast(JsPropertyMap.of());
-      maybeHyphenatedWord = RegExp.compile("([-]?)([a-z])([a-z0-9]*)", "g");
-    }
-
-    // Early exit if already in camelCase form.
-    if (!name.contains("-")) {
-      return name;
-    }
-
-    // Check for the name in the cache.
-    String camelCase = getCamelCaseName(hyphenatedMap, name);
-
-    // Convert the name to camelCase format if not in the cache.
-    if (camelCase == null) {
-      /*
-       * Strip of any leading hyphens, which are used in browser specified style
-       * properties such as "-webkit-border-radius". In this case, the first
-       * word "webkit" should remain lowercase.
-       */
-      if (name.startsWith("-") && name.length() > 1) {
-        name = name.substring(1);
-      }
-
-      camelCase = "";
-      MatchResult matches;
-      while ((matches = maybeHyphenatedWord.exec(name)) != null) {
-        String word = matches.getGroup(0);
-        if (!word.startsWith("-")) {
-          // The word is not hyphenated. Probably the first word.
-          camelCase += word;
-        } else {
-          // Remove hyphen and uppercase next letter.
-          camelCase += matches.getGroup(2).toUpperCase(Locale.ROOT);
-          if (matches.getGroupCount() > 2) {
-            camelCase += matches.getGroup(3);
-          }
-        }
-      }
-      putCamelCaseName(hyphenatedMap, name, camelCase);
-    }
-
-    return camelCase;
+  static String toHyphenatedForm(String name) {
+    return CssPropertyNames.toHyphenatedForm(name);
   }
 
   /**
-   * Get the camelCase form of a style name to a map.
-   * 
-   * @param name the user specified style name
-   * @return the camelCase name, or null if not set
+   * The style properties added since the style attribute was opened.
    */
-  private static String getCamelCaseName(JsPropertyMap<String> map, String name) {
-    return map.get(name);
-  }
-
-  /**
-   * Save the camelCase form of a style name to a map.
-   * 
-   * @param name the user specified style name
-   * @param camelCase the camelCase name
-   */
-  private static void putCamelCaseName(JsPropertyMap<String> map, String name, String camelCase) {
-    map.set(name, camelCase);
-  }
+  private final StringBuilder cssText = new StringBuilder();
 
   private final DomBuilderImpl delegate;
 
@@ -139,38 +68,33 @@ class DomStylesBuilder implements StylesBuilder {
 
   @Override
   public StylesBuilder backgroundImage(SafeUri uri) {
-    delegate.assertCanAddStyleProperty().setBackgroundImage(uri.asString());
-    return this;
+    return styleProperty(SafeStylesUtils.forBackgroundImage(uri));
   }
 
   @Override
   public StylesBuilder borderStyle(BorderStyle value) {
-    delegate.assertCanAddStyleProperty().setBorderStyle(value);
-    return this;
+    return styleProperty(
+        SafeStylesUtils.fromTrustedNameAndValue("border-style", value.getCssName()));
   }
 
   @Override
   public StylesBuilder borderWidth(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setBorderWidth(value, unit);
-    return this;
+    return styleProperty("border-width", value, unit);
   }
 
   @Override
   public StylesBuilder bottom(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setBottom(value, unit);
-    return this;
+    return styleProperty("bottom", value, unit);
   }
 
   @Override
   public StylesBuilder cursor(Cursor value) {
-    delegate.assertCanAddStyleProperty().setCursor(value);
-    return this;
+    return styleProperty(SafeStylesUtils.fromTrustedNameAndValue("cursor", value.getCssName()));
   }
 
   @Override
   public StylesBuilder display(Display value) {
-    delegate.assertCanAddStyleProperty().setDisplay(value);
-    return this;
+    return styleProperty(SafeStylesUtils.fromTrustedNameAndValue("display", value.getCssName()));
   }
 
   @Override
@@ -180,279 +104,277 @@ class DomStylesBuilder implements StylesBuilder {
 
   @Override
   public StylesBuilder floatprop(Float value) {
-    delegate.assertCanAddStyleProperty().setFloat(value);
-    return this;
+    return styleProperty(SafeStylesUtils.fromTrustedNameAndValue("float", value.getCssName()));
   }
 
   @Override
   public StylesBuilder fontSize(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setFontSize(value, unit);
-    return this;
+    return styleProperty("font-size", value, unit);
   }
 
   @Override
   public StylesBuilder fontStyle(FontStyle value) {
-    delegate.assertCanAddStyleProperty().setFontStyle(value);
-    return this;
+    return styleProperty(SafeStylesUtils.fromTrustedNameAndValue("font-style", value.getCssName()));
   }
 
   @Override
   public StylesBuilder fontWeight(FontWeight value) {
-    delegate.assertCanAddStyleProperty().setFontWeight(value);
-    return this;
+    return styleProperty(
+        SafeStylesUtils.fromTrustedNameAndValue("font-weight", value.getCssName()));
   }
 
   @Override
   public StylesBuilder height(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setHeight(value, unit);
-    return this;
+    return styleProperty("height", value, unit);
   }
 
   @Override
   public StylesBuilder left(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setLeft(value, unit);
-    return this;
+    return styleProperty("left", value, unit);
   }
 
   @Override
   public StylesBuilder lineHeight(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setLineHeight(value, unit);
-    return this;
+    return styleProperty("line-height", value, unit);
   }
 
   @Override
   public StylesBuilder listStyleType(ListStyleType value) {
-    delegate.assertCanAddStyleProperty().setListStyleType(value);
-    return this;
+    return styleProperty(
+        SafeStylesUtils.fromTrustedNameAndValue("list-style-type", value.getCssName()));
   }
 
   @Override
   public StylesBuilder margin(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setMargin(value, unit);
-    return this;
+    return styleProperty("margin", value, unit);
   }
 
   @Override
   public StylesBuilder marginBottom(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setMarginBottom(value, unit);
-    return this;
+    return styleProperty("margin-bottom", value, unit);
   }
 
   @Override
   public StylesBuilder marginLeft(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setMarginLeft(value, unit);
-    return this;
+    return styleProperty("margin-left", value, unit);
   }
 
   @Override
   public StylesBuilder marginRight(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setMarginRight(value, unit);
-    return this;
+    return styleProperty("margin-right", value, unit);
   }
 
   @Override
   public StylesBuilder marginTop(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setMarginTop(value, unit);
-    return this;
+    return styleProperty("margin-top", value, unit);
   }
 
   @Override
   public StylesBuilder opacity(double value) {
-    delegate.assertCanAddStyleProperty().setOpacity(value);
-    return this;
+    return styleProperty(SafeStylesUtils.forOpacity(value));
   }
 
   @Override
   public StylesBuilder outlineStyle(OutlineStyle value) {
-    delegate.assertCanAddStyleProperty().setOutlineStyle(value);
-    return this;
+    return styleProperty(
+        SafeStylesUtils.fromTrustedNameAndValue("outline-style", value.getCssName()));
   }
 
   @Override
   public StylesBuilder outlineWidth(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setOutlineWidth(value, unit);
-    return this;
+    return styleProperty("outline-width", value, unit);
   }
 
   @Override
   public StylesBuilder overflow(Overflow value) {
-    delegate.assertCanAddStyleProperty().setOverflow(value);
-    return this;
+    return styleProperty(SafeStylesUtils.fromTrustedNameAndValue("overflow", value.getCssName()));
   }
 
   @Override
   public StylesBuilder overflowX(Overflow value) {
-    delegate.assertCanAddStyleProperty().setOverflowX(value);
-    return this;
+    return styleProperty(SafeStylesUtils.fromTrustedNameAndValue("overflow-x", value.getCssName()));
   }
 
   @Override
   public StylesBuilder overflowY(Overflow value) {
-    delegate.assertCanAddStyleProperty().setOverflowY(value);
-    return this;
+    return styleProperty(SafeStylesUtils.fromTrustedNameAndValue("overflow-y", value.getCssName()));
   }
 
   @Override
   public StylesBuilder padding(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setPadding(value, unit);
-    return this;
+    return styleProperty("padding", value, unit);
   }
 
   @Override
   public StylesBuilder paddingBottom(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setPaddingBottom(value, unit);
-    return this;
+    return styleProperty("padding-bottom", value, unit);
   }
 
   @Override
   public StylesBuilder paddingLeft(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setPaddingLeft(value, unit);
-    return this;
+    return styleProperty("padding-left", value, unit);
   }
 
   @Override
   public StylesBuilder paddingRight(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setPaddingRight(value, unit);
-    return this;
+    return styleProperty("padding-right", value, unit);
   }
 
   @Override
   public StylesBuilder paddingTop(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setPaddingTop(value, unit);
-    return this;
+    return styleProperty("padding-top", value, unit);
   }
 
   @Override
   public StylesBuilder position(Position value) {
-    delegate.assertCanAddStyleProperty().setPosition(value);
-    return this;
+    return styleProperty(SafeStylesUtils.fromTrustedNameAndValue("position", value.getCssName()));
   }
 
   @Override
   public StylesBuilder right(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setRight(value, unit);
-    return this;
+    return styleProperty("right", value, unit);
   }
 
   @Override
   public StylesBuilder tableLayout(TableLayout value) {
-    delegate.assertCanAddStyleProperty().setTableLayout(value);
-    return this;
+    return styleProperty(
+        SafeStylesUtils.fromTrustedNameAndValue("table-layout", value.getCssName()));
   }
 
   @Override
   public StylesBuilder textAlign(TextAlign value) {
-    delegate.assertCanAddStyleProperty().setTextAlign(value);
-    return this;
+    return styleProperty(SafeStylesUtils.fromTrustedNameAndValue("text-align", value.getCssName()));
   }
 
   @Override
   public StylesBuilder textDecoration(TextDecoration value) {
-    delegate.assertCanAddStyleProperty().setTextDecoration(value);
-    return this;
+    return styleProperty(
+        SafeStylesUtils.fromTrustedNameAndValue("text-decoration", value.getCssName()));
   }
 
   @Override
   public StylesBuilder textIndent(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setTextIndent(value, unit);
-    return this;
+    return styleProperty("text-indent", value, unit);
   }
 
   @Override
   public StylesBuilder textJustify(TextJustify value) {
-    delegate.assertCanAddStyleProperty().setTextJustify(value);
-    return this;
+    return styleProperty(
+        SafeStylesUtils.fromTrustedNameAndValue("text-justify", value.getCssName()));
   }
 
   @Override
   public StylesBuilder textOverflow(TextOverflow value) {
-    delegate.assertCanAddStyleProperty().setTextOverflow(value);
-    return this;
+    return styleProperty(
+        SafeStylesUtils.fromTrustedNameAndValue("text-overflow", value.getCssName()));
   }
 
   @Override
   public StylesBuilder textTransform(TextTransform value) {
-    delegate.assertCanAddStyleProperty().setTextTransform(value);
-    return this;
+    return styleProperty(
+        SafeStylesUtils.fromTrustedNameAndValue("text-transform", value.getCssName()));
   }
 
   @Override
   public StylesBuilder top(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setTop(value, unit);
-    return this;
+    return styleProperty("top", value, unit);
   }
 
   @Override
   public StylesBuilder trustedBackgroundColor(String value) {
-    delegate.assertCanAddStyleProperty().setBackgroundColor(value);
-    return this;
+    return styleProperty(SafeStylesUtils.forTrustedBackgroundColor(value));
   }
 
   @Override
   public StylesBuilder trustedBackgroundImage(@IsSafeUri String value) {
-    delegate.assertCanAddStyleProperty().setBackgroundImage(value);
-    return this;
+    return styleProperty(SafeStylesUtils.forTrustedBackgroundImage(value));
   }
 
   @Override
   public StylesBuilder trustedBorderColor(String value) {
-    delegate.assertCanAddStyleProperty().setBorderColor(value);
-    return this;
+    return styleProperty(SafeStylesUtils.forTrustedBorderColor(value));
   }
 
   @Override
   public StylesBuilder trustedColor(String value) {
-    delegate.assertCanAddStyleProperty().setColor(value);
-    return this;
+    return styleProperty(SafeStylesUtils.forTrustedColor(value));
   }
 
   @Override
   public StylesBuilder trustedOutlineColor(String value) {
-    delegate.assertCanAddStyleProperty().setOutlineColor(value);
-    return this;
+    return styleProperty(SafeStylesUtils.forTrustedOutlineColor(value));
   }
 
   @Override
   public StylesBuilder trustedProperty(String name, double value, Unit unit) {
-    name = toCamelCaseForm(name);
-    delegate.assertCanAddStyleProperty().setProperty(name, value, unit);
-    return this;
+    name = toHyphenatedForm(name);
+    return styleProperty(name, value, unit);
   }
 
   @Override
   public StylesBuilder trustedProperty(String name, String value) {
-    name = toCamelCaseForm(name);
-    delegate.assertCanAddStyleProperty().setProperty(name, value);
-    return this;
+    name = toHyphenatedForm(name);
+    return styleProperty(SafeStylesUtils.fromTrustedNameAndValue(name, value));
   }
 
   @Override
   public StylesBuilder verticalAlign(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setVerticalAlign(value, unit);
-    return this;
+    return styleProperty("vertical-align", value, unit);
   }
 
   @Override
   public StylesBuilder verticalAlign(VerticalAlign value) {
-    delegate.assertCanAddStyleProperty().setVerticalAlign(value);
-    return this;
+    return styleProperty(
+        SafeStylesUtils.fromTrustedNameAndValue("vertical-align", value.getCssName()));
   }
 
   @Override
   public StylesBuilder visibility(Visibility value) {
-    delegate.assertCanAddStyleProperty().setVisibility(value);
-    return this;
+    return styleProperty(SafeStylesUtils.fromTrustedNameAndValue("visibility", value.getCssName()));
   }
 
   @Override
   public StylesBuilder width(double value, Unit unit) {
-    delegate.assertCanAddStyleProperty().setWidth(value, unit);
-    return this;
+    return styleProperty("width", value, unit);
   }
 
   @Override
   public StylesBuilder zIndex(int value) {
-    delegate.assertCanAddStyleProperty().setZIndex(value);
+    return styleProperty(SafeStylesUtils.forZIndex(value));
+  }
+
+  /**
+   * Return the style properties added since the style attribute was opened,
+   * and clear them.
+   * 
+   * @return the CSS text of the style properties, or an empty string
+   */
+  String flush() {
+    String text = cssText.toString();
+    cssText.setLength(0);
+    return text;
+  }
+
+  /**
+   * Add a style property.
+   */
+  private StylesBuilder styleProperty(SafeStyles style) {
+    delegate.assertCanAddStyleProperty();
+    cssText.append(style.asString());
+    return this;
+  }
+
+  /**
+   * Add a numeric style property, formatted with {@link CssNumberFormat}.
+   * 
+   * @param name the hyphenated name of the property
+   * @param value the value
+   * @param unit the unit of the value
+   */
+  private StylesBuilder styleProperty(String name, double value, Unit unit) {
+    delegate.assertCanAddStyleProperty();
+    cssText.append(name).append(':');
+    CssNumberFormat.append(cssText, value).append(unit.getType()).append(';');
     return this;
   }
 }
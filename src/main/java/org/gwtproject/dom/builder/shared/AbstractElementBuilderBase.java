@@ -388,4 +388,11 @@ public abstract class AbstractElementBuilderBase<R extends ElementBuilderBase<?>
   protected R getReturnBuilder() {
     return returnBuilder;
   }
+
+  /**
+   * Get the {@link ElementBuilderImpl} that builds the element.
+   */
+  ElementBuilderImpl getImpl() {
+    return delegate;
+  }
 }
@@ -0,0 +1,730 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.dom.builder.client.DomBuilderFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An {@link ElementBuilderFactory} that measures how long DOM and HTML builders
+ * take to build each kind of element, and uses the faster one.
+ * 
+ * <p>
+ * {@link ElementBuilderFactory#get()} chooses one implementation for the whole
+ * application based on the user agent, but which one is faster depends on the
+ * browser and on what is built. This factory keeps statistics for each top
+ * level tag name. The first builds of a tag name alternate between the
+ * {@link DomBuilderFactory} and the {@link HtmlBuilderFactory}; later builds
+ * use the strategy with the lower average time from the creation of the
+ * builder to {@link ElementBuilderBase#finish()}. Every
+ * {@value #RESAMPLE_INTERVAL}th build of a tag name uses the other strategy,
+ * so that the choice follows changes in the workload.
+ * </p>
+ * 
+ * <p>
+ * The statistics belong to the factory instance. Use a separate factory for
+ * each call site that builds differently sized elements with the same top
+ * level tag, such as a small cell and a large grid. The choice for a tag name
+ * can be read with {@link #getStrategy(String)}, saved, and restored in a later
+ * session with {@link #setStrategy(String, Strategy)}, which skips the
+ * measurements. Only builds that are finished with <code>finish()</code> are
+ * measured. This factory only works on a browser client.
+ * </p>
+ * 
+ * <p>
+ * The strategy used for each build is reported by
+ * {@link BuilderMetrics#getStrategy()} to the listener set with
+ * {@link ElementBuilderFactory#setMetricsListener}.
+ * </p>
+ * 
+ * <pre>
+ * private static final AdaptiveElementBuilderFactory GRID = new AdaptiveElementBuilderFactory();
+ * </pre>
+ */
+public class AdaptiveElementBuilderFactory extends ElementBuilderFactory {
+
+  /**
+   * The ways to build an element.
+   */
+  public enum Strategy {
+    /**
+     * Manipulate the DOM directly, with the {@link DomBuilderFactory}.
+     */
+    DOM,
+
+    /**
+     * Build an HTML string and parse it, with the {@link HtmlBuilderFactory}.
+     */
+    HTML
+  }
+
+  /**
+   * One timed build, from the creation of the builder to the finish of its top
+   * level element. The sample is the metrics listener of the builder, and
+   * passes the metrics on to the listener set with
+   * {@link ElementBuilderFactory#setMetricsListener}, if any.
+   */
+  private class Sample implements BuilderMetricsListener {
+    private final BuilderMetricsListener next = ElementBuilderImpl.metricsListener;
+    private final Shape shape;
+    private final long startNanos = System.nanoTime();
+    private final Strategy strategy;
+
+    Sample(Shape shape, Strategy strategy) {
+      this.shape = shape;
+      this.strategy = strategy;
+    }
+
+    /**
+     * Get the factory of the chosen strategy.
+     */
+    ElementBuilderFactory factory() {
+      return factories[strategy.ordinal()];
+    }
+
+    @Override
+    public void onRender(BuilderMetrics metrics) {
+      record(shape, strategy, System.nanoTime() - startNanos);
+      if (next != null) {
+        next.onRender(metrics);
+      }
+    }
+  }
+
+  /**
+   * The statistics of the elements built with one top level tag name, indexed
+   * by {@link Strategy#ordinal()}.
+   */
+  private static class Shape {
+    final long[] averageNanos = new long[2];
+    int buildCount;
+    Strategy pinned;
+    final int[] sampleCounts = new int[2];
+  }
+
+  /**
+   * The number of builds measured with each strategy before choosing one.
+   */
+  static final int CALIBRATION_SAMPLES = 4;
+
+  /**
+   * The interval, in builds of a tag name, at which the slower strategy is
+   * measured again.
+   */
+  static final int RESAMPLE_INTERVAL = 64;
+
+  /**
+   * The weight of a new sample in the moving average, as a right shift: each
+   * build contributes 1/4 of the new average.
+   */
+  private static final int SAMPLE_WEIGHT_SHIFT = 2;
+
+  private final ElementBuilderFactory[] factories;
+
+  /**
+   * The statistics of each top level tag name. The DOM is only used from the
+   * browser's single thread, so the statistics are not locked.
+   */
+  private final ConcurrentHashMap<String, Shape> shapes = new ConcurrentHashMap<String, Shape>();
+
+  /**
+   * Create a factory that chooses between the {@link DomBuilderFactory} and
+   * the {@link HtmlBuilderFactory}.
+   */
+  public AdaptiveElementBuilderFactory() {
+    this(DomBuilderFactory.get(), HtmlBuilderFactory.get());
+  }
+
+  /**
+   * Create a factory that chooses between two factories.
+   * 
+   * @param dom the factory used for {@link Strategy#DOM}
+   * @param html the factory used for {@link Strategy#HTML}
+   */
+  // Visible for testing
+  AdaptiveElementBuilderFactory(ElementBuilderFactory dom, ElementBuilderFactory html) {
+    factories = new ElementBuilderFactory[] {dom, html};
+  }
+
+  @Override
+  public AnchorBuilder createAnchorBuilder() {
+    Sample sample = start("a");
+    return track(sample.factory().createAnchorBuilder(), sample);
+  }
+
+  @Override
+  public AreaBuilder createAreaBuilder() {
+    Sample sample = start("area");
+    return track(sample.factory().createAreaBuilder(), sample);
+  }
+
+  @Override
+  public AudioBuilder createAudioBuilder() {
+    Sample sample = start("audio");
+    return track(sample.factory().createAudioBuilder(), sample);
+  }
+
+  @Override
+  public BaseBuilder createBaseBuilder() {
+    Sample sample = start("base");
+    return track(sample.factory().createBaseBuilder(), sample);
+  }
+
+  @Override
+  public QuoteBuilder createBlockQuoteBuilder() {
+    Sample sample = start("blockquote");
+    return track(sample.factory().createBlockQuoteBuilder(), sample);
+  }
+
+  @Override
+  public BodyBuilder createBodyBuilder() {
+    Sample sample = start("body");
+    return track(sample.factory().createBodyBuilder(), sample);
+  }
+
+  @Override
+  public BRBuilder createBRBuilder() {
+    Sample sample = start("br");
+    return track(sample.factory().createBRBuilder(), sample);
+  }
+
+  @Override
+  public InputBuilder createButtonInputBuilder() {
+    Sample sample = start("input");
+    return track(sample.factory().createButtonInputBuilder(), sample);
+  }
+
+  @Override
+  public CanvasBuilder createCanvasBuilder() {
+    Sample sample = start("canvas");
+    return track(sample.factory().createCanvasBuilder(), sample);
+  }
+
+  @Override
+  public InputBuilder createCheckboxInputBuilder() {
+    Sample sample = start("input");
+    return track(sample.factory().createCheckboxInputBuilder(), sample);
+  }
+
+  @Override
+  public TableColBuilder createColBuilder() {
+    Sample sample = start("col");
+    return track(sample.factory().createColBuilder(), sample);
+  }
+
+  @Override
+  public TableColBuilder createColGroupBuilder() {
+    Sample sample = start("colgroup");
+    return track(sample.factory().createColGroupBuilder(), sample);
+  }
+
+  @Override
+  public DivBuilder createDivBuilder() {
+    Sample sample = start("div");
+    return track(sample.factory().createDivBuilder(), sample);
+  }
+
+  @Override
+  public DListBuilder createDListBuilder() {
+    Sample sample = start("dl");
+    return track(sample.factory().createDListBuilder(), sample);
+  }
+
+  @Override
+  public FieldSetBuilder createFieldSetBuilder() {
+    Sample sample = start("fieldset");
+    return track(sample.factory().createFieldSetBuilder(), sample);
+  }
+
+  @Override
+  public InputBuilder createFileInputBuilder() {
+    Sample sample = start("input");
+    return track(sample.factory().createFileInputBuilder(), sample);
+  }
+
+  @Override
+  public FormBuilder createFormBuilder() {
+    Sample sample = start("form");
+    return track(sample.factory().createFormBuilder(), sample);
+  }
+
+  @Override
+  public FrameBuilder createFrameBuilder() {
+    Sample sample = start("frame");
+    return track(sample.factory().createFrameBuilder(), sample);
+  }
+
+  @Override
+  public FrameSetBuilder createFrameSetBuilder() {
+    Sample sample = start("frameset");
+    return track(sample.factory().createFrameSetBuilder(), sample);
+  }
+
+  @Override
+  public HeadingBuilder createH1Builder() {
+    Sample sample = start("h1");
+    return track(sample.factory().createH1Builder(), sample);
+  }
+
+  @Override
+  public HeadingBuilder createH2Builder() {
+    Sample sample = start("h2");
+    return track(sample.factory().createH2Builder(), sample);
+  }
+
+  @Override
+  public HeadingBuilder createH3Builder() {
+    Sample sample = start("h3");
+    return track(sample.factory().createH3Builder(), sample);
+  }
+
+  @Override
+  public HeadingBuilder createH4Builder() {
+    Sample sample = start("h4");
+    return track(sample.factory().createH4Builder(), sample);
+  }
+
+  @Override
+  public HeadingBuilder createH5Builder() {
+    Sample sample = start("h5");
+    return track(sample.factory().createH5Builder(), sample);
+  }
+
+  @Override
+  public HeadingBuilder createH6Builder() {
+    Sample sample = start("h6");
+    return track(sample.factory().createH6Builder(), sample);
+  }
+
+  @Override
+  public HeadBuilder createHeadBuilder() {
+    Sample sample = start("head");
+    return track(sample.factory().createHeadBuilder(), sample);
+  }
+
+  @Override
+  public InputBuilder createHiddenInputBuilder() {
+    Sample sample = start("input");
+    return track(sample.factory().createHiddenInputBuilder(), sample);
+  }
+
+  @Override
+  public HRBuilder createHRBuilder() {
+    Sample sample = start("hr");
+    return track(sample.factory().createHRBuilder(), sample);
+  }
+
+  @Override
+  public IFrameBuilder createIFrameBuilder() {
+    Sample sample = start("iframe");
+    return track(sample.factory().createIFrameBuilder(), sample);
+  }
+
+  @Override
+  public ImageBuilder createImageBuilder() {
+    Sample sample = start("img");
+    return track(sample.factory().createImageBuilder(), sample);
+  }
+
+  @Override
+  public InputBuilder createImageInputBuilder() {
+    Sample sample = start("input");
+    return track(sample.factory().createImageInputBuilder(), sample);
+  }
+
+  @Override
+  public LabelBuilder createLabelBuilder() {
+    Sample sample = start("label");
+    return track(sample.factory().createLabelBuilder(), sample);
+  }
+
+  @Override
+  public LegendBuilder createLegendBuilder() {
+    Sample sample = start("legend");
+    return track(sample.factory().createLegendBuilder(), sample);
+  }
+
+  @Override
+  public LIBuilder createLIBuilder() {
+    Sample sample = start("li");
+    return track(sample.factory().createLIBuilder(), sample);
+  }
+
+  @Override
+  public LinkBuilder createLinkBuilder() {
+    Sample sample = start("link");
+    return track(sample.factory().createLinkBuilder(), sample);
+  }
+
+  @Override
+  public MapBuilder createMapBuilder() {
+    Sample sample = start("map");
+    return track(sample.factory().createMapBuilder(), sample);
+  }
+
+  @Override
+  public MetaBuilder createMetaBuilder() {
+    Sample sample = start("meta");
+    return track(sample.factory().createMetaBuilder(), sample);
+  }
+
+  @Override
+  public OListBuilder createOListBuilder() {
+    Sample sample = start("ol");
+    return track(sample.factory().createOListBuilder(), sample);
+  }
+
+  @Override
+  public OptGroupBuilder createOptGroupBuilder() {
+    Sample sample = start("optgroup");
+    return track(sample.factory().createOptGroupBuilder(), sample);
+  }
+
+  @Override
+  public OptionBuilder createOptionBuilder() {
+    Sample sample = start("option");
+    return track(sample.factory().createOptionBuilder(), sample);
+  }
+
+  @Override
+  public ParagraphBuilder createParagraphBuilder() {
+    Sample sample = start("p");
+    return track(sample.factory().createParagraphBuilder(), sample);
+  }
+
+  @Override
+  public ParamBuilder createParamBuilder() {
+    Sample sample = start("param");
+    return track(sample.factory().createParamBuilder(), sample);
+  }
+
+  @Override
+  public InputBuilder createPasswordInputBuilder() {
+    Sample sample = start("input");
+    return track(sample.factory().createPasswordInputBuilder(), sample);
+  }
+
+  @Override
+  public PreBuilder createPreBuilder() {
+    Sample sample = start("pre");
+    return track(sample.factory().createPreBuilder(), sample);
+  }
+
+  @Override
+  public ButtonBuilder createPushButtonBuilder() {
+    Sample sample = start("button");
+    return track(sample.factory().createPushButtonBuilder(), sample);
+  }
+
+  @Override
+  public QuoteBuilder createQuoteBuilder() {
+    Sample sample = start("q");
+    return track(sample.factory().createQuoteBuilder(), sample);
+  }
+
+  @Override
+  public InputBuilder createRadioInputBuilder(String name) {
+    Sample sample = start("input");
+    return track(sample.factory().createRadioInputBuilder(name), sample);
+  }
+
+  @Override
+  public ButtonBuilder createResetButtonBuilder() {
+    Sample sample = start("button");
+    return track(sample.factory().createResetButtonBuilder(), sample);
+  }
+
+  @Override
+  public InputBuilder createResetInputBuilder() {
+    Sample sample = start("input");
+    return track(sample.factory().createResetInputBuilder(), sample);
+  }
+
+  @Override
+  public ScriptBuilder createScriptBuilder() {
+    Sample sample = start("script");
+    return track(sample.factory().createScriptBuilder(), sample);
+  }
+
+  @Override
+  public SelectBuilder createSelectBuilder() {
+    Sample sample = start("select");
+    return track(sample.factory().createSelectBuilder(), sample);
+  }
+
+  @Override
+  public SourceBuilder createSourceBuilder() {
+    Sample sample = start("source");
+    return track(sample.factory().createSourceBuilder(), sample);
+  }
+
+  @Override
+  public SpanBuilder createSpanBuilder() {
+    Sample sample = start("span");
+    return track(sample.factory().createSpanBuilder(), sample);
+  }
+
+  @Override
+  public StyleBuilder createStyleBuilder() {
+    Sample sample = start("style");
+    return track(sample.factory().createStyleBuilder(), sample);
+  }
+
+  @Override
+  public ButtonBuilder createSubmitButtonBuilder() {
+    Sample sample = start("button");
+    return track(sample.factory().createSubmitButtonBuilder(), sample);
+  }
+
+  @Override
+  public InputBuilder createSubmitInputBuilder() {
+    Sample sample = start("input");
+    return track(sample.factory().createSubmitInputBuilder(), sample);
+  }
+
+  @Override
+  public TableBuilder createTableBuilder() {
+    Sample sample = start("table");
+    return track(sample.factory().createTableBuilder(), sample);
+  }
+
+  @Override
+  public TableCaptionBuilder createTableCaptionBuilder() {
+    Sample sample = start("caption");
+    return track(sample.factory().createTableCaptionBuilder(), sample);
+  }
+
+  @Override
+  public TableSectionBuilder createTBodyBuilder() {
+    Sample sample = start("tbody");
+    return track(sample.factory().createTBodyBuilder(), sample);
+  }
+
+  @Override
+  public TableCellBuilder createTDBuilder() {
+    Sample sample = start("td");
+    return track(sample.factory().createTDBuilder(), sample);
+  }
+
+  @Override
+  public TextAreaBuilder createTextAreaBuilder() {
+    Sample sample = start("textarea");
+    return track(sample.factory().createTextAreaBuilder(), sample);
+  }
+
+  @Override
+  public InputBuilder createTextInputBuilder() {
+    Sample sample = start("input");
+    return track(sample.factory().createTextInputBuilder(), sample);
+  }
+
+  @Override
+  public TableSectionBuilder createTFootBuilder() {
+    Sample sample = start("tfoot");
+    return track(sample.factory().createTFootBuilder(), sample);
+  }
+
+  @Override
+  public TableCellBuilder createTHBuilder() {
+    Sample sample = start("th");
+    return track(sample.factory().createTHBuilder(), sample);
+  }
+
+  @Override
+  public TableSectionBuilder createTHeadBuilder() {
+    Sample sample = start("thead");
+    return track(sample.factory().createTHeadBuilder(), sample);
+  }
+
+  @Override
+  public TableRowBuilder createTRBuilder() {
+    Sample sample = start("tr");
+    return track(sample.factory().createTRBuilder(), sample);
+  }
+
+  @Override
+  public UListBuilder createUListBuilder() {
+    Sample sample = start("ul");
+    return track(sample.factory().createUListBuilder(), sample);
+  }
+
+  @Override
+  public VideoBuilder createVideoBuilder() {
+    Sample sample = start("video");
+    return track(sample.factory().createVideoBuilder(), sample);
+  }
+
+  @Override
+  public ElementBuilder trustedCreate(String tagName) {
+    Sample sample = start(tagName);
+    return track(sample.factory().trustedCreate(tagName), sample);
+  }
+
+  /**
+   * Get the moving average of the time taken to build an element with the
+   * specified top level tag name and strategy.
+   * 
+   * @param tagName the tag name of the top level element
+   * @param strategy the strategy
+   * @return the average time in nanoseconds, or 0 if not measured
+   */
+  public long getAverageNanos(String tagName, Strategy strategy) {
+    Shape shape = shapes.get(tagName);
+    if (shape == null) {
+      return 0;
+    }
+    return shape.averageNanos[strategy.ordinal()];
+  }
+
+  /**
+   * Get the number of builds measured for the specified top level tag name and
+   * strategy.
+   * 
+   * @param tagName the tag name of the top level element
+   * @param strategy the strategy
+   * @return the number of measured builds
+   */
+  public int getSampleCount(String tagName, Strategy strategy) {
+    Shape shape = shapes.get(tagName);
+    if (shape == null) {
+      return 0;
+    }
+    return shape.sampleCounts[strategy.ordinal()];
+  }
+
+  /**
+   * Get the strategy used to build elements with the specified top level tag
+   * name.
+   * 
+   * @param tagName the tag name of the top level element
+   * @return the strategy set with {@link #setStrategy(String, Strategy)}, or
+   *         the faster strategy, or null if both have not been measured yet
+   */
+  public Strategy getStrategy(String tagName) {
+    Shape shape = shapes.get(tagName);
+    if (shape == null) {
+      return null;
+    }
+    if (shape.pinned != null) {
+      return shape.pinned;
+    }
+    return isCalibrated(shape) ? getFasterStrategy(shape) : null;
+  }
+
+  /**
+   * Always use a strategy to build elements with the specified top level tag
+   * name, such as one saved from an earlier session. Builds with a fixed
+   * strategy are still measured.
+   * 
+   * @param tagName the tag name of the top level element
+   * @param strategy the strategy, or null to choose the faster strategy again
+   */
+  public void setStrategy(String tagName, Strategy strategy) {
+    Shape shape = getShape(tagName);
+    shape.pinned = strategy;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("AdaptiveElementBuilderFactory[");
+    String separator = "";
+    for (Map.Entry<String, Shape> entry : shapes.entrySet()) {
+      String tagName = entry.getKey();
+      sb.append(separator).append(tagName).append("=").append(getStrategy(tagName));
+      for (Strategy strategy : Strategy.values()) {
+        sb.append(", ").append(tagName).append(".").append(strategy).append("=")
+            .append(getAverageNanos(tagName, strategy)).append("ns/")
+            .append(getSampleCount(tagName, strategy));
+      }
+      separator = ", ";
+    }
+    return sb.append("]").toString();
+  }
+
+  /**
+   * Choose the strategy of the next build of a shape.
+   */
+  private Strategy choose(Shape shape) {
+    if (shape.pinned != null) {
+      return shape.pinned;
+    }
+    if (!isCalibrated(shape)) {
+      // Alternate until both strategies have been measured enough.
+      return shape.sampleCounts[Strategy.DOM.ordinal()]
+          <= shape.sampleCounts[Strategy.HTML.ordinal()] ? Strategy.DOM : Strategy.HTML;
+    }
+    Strategy faster = getFasterStrategy(shape);
+    if (++shape.buildCount % RESAMPLE_INTERVAL == 0) {
+      return (faster == Strategy.DOM) ? Strategy.HTML : Strategy.DOM;
+    }
+    return faster;
+  }
+
+  private Strategy getFasterStrategy(Shape shape) {
+    return shape.averageNanos[Strategy.DOM.ordinal()]
+        <= shape.averageNanos[Strategy.HTML.ordinal()] ? Strategy.DOM : Strategy.HTML;
+  }
+
+  private Shape getShape(String tagName) {
+    Shape shape = shapes.get(tagName);
+    if (shape == null) {
+      shape = new Shape();
+      Shape existing = shapes.putIfAbsent(tagName, shape);
+      if (existing != null) {
+        shape = existing;
+      }
+    }
+    return shape;
+  }
+
+  private boolean isCalibrated(Shape shape) {
+    return shape.sampleCounts[Strategy.DOM.ordinal()] >= CALIBRATION_SAMPLES
+        && shape.sampleCounts[Strategy.HTML.ordinal()] >= CALIBRATION_SAMPLES;
+  }
+
+  /**
+   * Add a measured build to the moving average of its shape and strategy.
+   */
+  private void record(Shape shape, Strategy strategy, long nanos) {
+    int i = strategy.ordinal();
+    long average = shape.averageNanos[i];
+    shape.averageNanos[i] = (shape.sampleCounts[i] == 0) ? nanos
+        : average + ((nanos - average) >> SAMPLE_WEIGHT_SHIFT);
+    shape.sampleCounts[i]++;
+  }
+
+  /**
+   * Choose the strategy of a new build.
+   */
+  private Sample start(String tagName) {
+    Shape shape = getShape(tagName);
+    return new Sample(shape, choose(shape));
+  }
+
+  /**
+   * Make a sample the metrics listener of a new builder, so that the build is
+   * measured when it is finished, and report the strategy in the metrics.
+   */
+  private <B extends ElementBuilderBase<?>> B track(B builder, Sample sample) {
+    if (builder instanceof AbstractElementBuilderBase) {
+      ElementBuilderImpl impl = ((AbstractElementBuilderBase<?>) builder).getImpl();
+      impl.setMetricsListener(sample).onStrategy(sample.strategy.name());
+    }
+    return builder;
+  }
+}
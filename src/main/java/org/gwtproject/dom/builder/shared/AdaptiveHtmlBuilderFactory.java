@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.safehtml.shared.SafeHtml;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An {@link HtmlBuilderFactory} that pre-sizes the output buffer of each
+ * builder, so that a large render does not repeatedly grow and copy its
+ * buffer.
+ * 
+ * <p>
+ * The factory keeps an exponential moving average of the length of the HTML
+ * built for each top level tag name, updated whenever
+ * {@link HtmlElementBuilderBase#asSafeHtml()} (or
+ * {@link ElementBuilderBase#finish()}) is called. When a new top level element
+ * is started, the buffer is sized to the average for its tag name plus some
+ * headroom. Tag names that have not been rendered yet use the size hint given
+ * to the constructor.
+ * </p>
+ * 
+ * <p>
+ * The statistics belong to the factory instance. Use a separate factory for
+ * each call site that renders differently sized HTML with the same top level
+ * tag, such as a small summary table and a large report table.
+ * </p>
+ * 
+ * <pre>
+ * private static final AdaptiveHtmlBuilderFactory REPORT = new AdaptiveHtmlBuilderFactory(64 * 1024);
+ * </pre>
+ */
+public class AdaptiveHtmlBuilderFactory extends HtmlBuilderFactory {
+
+  /**
+   * An {@link HtmlBuilderImpl} that sizes its buffer when the top level
+   * element is started and reports the final length back to its factory.
+   */
+  private static class AdaptiveHtmlBuilderImpl extends HtmlBuilderImpl {
+
+    private final AdaptiveHtmlBuilderFactory factory;
+    private String rootTagName;
+
+    AdaptiveHtmlBuilderImpl(AdaptiveHtmlBuilderFactory factory) {
+      this.factory = factory;
+    }
+
+    @Override
+    public SafeHtml asSafeHtml() {
+      SafeHtml html = super.asSafeHtml();
+      if (rootTagName != null) {
+        factory.record(rootTagName, length());
+        rootTagName = null;
+      }
+      return html;
+    }
+
+    /**
+     * All elements started by {@link HtmlBuilderImpl} go through this method,
+     * so the first call is the top level element.
+     */
+    @Override
+    protected void onBuiltInStart(String tagName, ElementBuilderBase<?> builder) {
+      super.onBuiltInStart(tagName, builder);
+      if (getDepth() == 1) {
+        rootTagName = tagName;
+        ensureCapacity(factory.getExpectedLength(tagName));
+      }
+    }
+  }
+
+  /**
+   * The weight of a new sample in the moving average, as a right shift: each
+   * render contributes 1/4 of the new average.
+   */
+  private static final int SAMPLE_WEIGHT_SHIFT = 2;
+
+  private final Map<String, Integer> averageLengths = new ConcurrentHashMap<String, Integer>();
+  private final int sizeHint;
+
+  /**
+   * Create a factory without an initial size hint. Buffers start at the
+   * default capacity until a tag name has been rendered once.
+   */
+  public AdaptiveHtmlBuilderFactory() {
+    this(0);
+  }
+
+  /**
+   * Create a factory with an initial size hint.
+   * 
+   * @param sizeHint the expected length of the HTML for tag names that have
+   *          not been rendered yet
+   */
+  public AdaptiveHtmlBuilderFactory(int sizeHint) {
+    this.sizeHint = sizeHint;
+  }
+
+  /**
+   * Get the buffer capacity that will be used for the next element with the
+   * specified top level tag name.
+   * 
+   * @param tagName the tag name of the top level element
+   * @return the expected length of the HTML
+   */
+  public int getExpectedLength(String tagName) {
+    Integer average = averageLengths.get(tagName);
+    if (average == null) {
+      return sizeHint;
+    }
+    // Leave 25% headroom so a slightly larger render does not grow the buffer.
+    return average + (average >> 2);
+  }
+
+  @Override
+  HtmlBuilderImpl impl() {
+    return new AdaptiveHtmlBuilderImpl(this);
+  }
+
+  /**
+   * Add the length of a completed render to the moving average. Concurrent
+   * updates may lose a sample, which only delays the adjustment.
+   */
+  private void record(String tagName, int length) {
+    Integer average = averageLengths.get(tagName);
+    if (average == null) {
+      averageLengths.put(tagName, length);
+    } else {
+      averageLengths.put(tagName, average + ((length - average) >> SAMPLE_WEIGHT_SHIFT));
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+/**
+ * Counters describing the work done by a builder to build one top level
+ * element, or the totals of many elements.
+ * 
+ * <p>
+ * Metrics are only collected while a {@link BuilderMetricsListener} is set with
+ * {@link ElementBuilderFactory#setMetricsListener}. The listener receives the
+ * metrics of each element when it is finished with
+ * {@link ElementBuilderBase#finish()} or, for HTML builders,
+ * {@link HtmlElementBuilderBase#asSafeHtml()}. A listener that aggregates the
+ * metrics can add them to a total:
+ * </p>
+ * 
+ * <pre>
+ * final BuilderMetrics total = new BuilderMetrics();
+ * ElementBuilderFactory.setMetricsListener(new BuilderMetricsListener() {
+ *   public void onRender(BuilderMetrics metrics) {
+ *     total.add(metrics);
+ *   }
+ * });
+ * </pre>
+ */
+public class BuilderMetrics {
+
+  /*
+   * Every field is guarded by the lock of this object, so that totals can be
+   * shared by listeners on several threads.
+   */
+  private long elementCount;
+  private long escapeCount;
+  private long escapedCharCount;
+  private long finishNanos;
+  private int maxDepth;
+  private long outputLength;
+  private long renderCount;
+  private String strategy;
+  private long stylePropertyCount;
+
+  /**
+   * Add the metrics of one or more elements to these metrics. The maximum
+   * depth is the larger of the two.
+   * 
+   * @param metrics the metrics to add
+   */
+  public void add(BuilderMetrics metrics) {
+    // Copy the metrics first, so that both locks are never held at once.
+    BuilderMetrics other = metrics.copy();
+    synchronized (this) {
+      elementCount += other.elementCount;
+      escapeCount += other.escapeCount;
+      escapedCharCount += other.escapedCharCount;
+      finishNanos += other.finishNanos;
+      maxDepth = Math.max(maxDepth, other.maxDepth);
+      outputLength += other.outputLength;
+      renderCount += other.renderCount;
+      stylePropertyCount += other.stylePropertyCount;
+    }
+  }
+
+  /**
+   * Get the number of elements started. An {@link ElementTemplate} or a
+   * fragment from a {@link FragmentCache} counts as one element.
+   */
+  public synchronized long getElementCount() {
+    return elementCount;
+  }
+
+  /**
+   * Get the number of text and attribute values escaped by HTML builders.
+   */
+  public synchronized long getEscapeCount() {
+    return escapeCount;
+  }
+
+  /**
+   * Get the number of characters replaced by an entity when escaping text and
+   * attribute values.
+   */
+  public synchronized long getEscapedCharCount() {
+    return escapedCharCount;
+  }
+
+  /**
+   * Get the time spent ending the open elements and producing the result, in
+   * nanoseconds. For DOM builders, this is the time spent in
+   * {@link ElementBuilderBase#finish()}; for HTML builders, it includes
+   * creating the {@link org.gwtproject.safehtml.shared.SafeHtml} string, and
+   * parsing it if the element is finished.
+   */
+  public synchronized long getFinishNanos() {
+    return finishNanos;
+  }
+
+  /**
+   * Get the maximum number of nested elements that were open at once.
+   */
+  public synchronized int getMaxDepth() {
+    return maxDepth;
+  }
+
+  /**
+   * Get the number of characters of HTML produced. DOM builders do not produce
+   * HTML, so this is 0 for them.
+   */
+  public synchronized long getOutputLength() {
+    return outputLength;
+  }
+
+  /**
+   * Get the number of top level elements built.
+   */
+  public synchronized long getRenderCount() {
+    return renderCount;
+  }
+
+  /**
+   * Get the strategy chosen by an {@link AdaptiveElementBuilderFactory} to
+   * build the element, such as <code>DOM</code> or <code>HTML</code>. Totals
+   * do not have a strategy.
+   * 
+   * @return the name of the strategy, or null if the builder was not created by
+   *         an adaptive factory
+   */
+  public synchronized String getStrategy() {
+    return strategy;
+  }
+
+  /**
+   * Get the number of style properties added.
+   */
+  public synchronized long getStylePropertyCount() {
+    return stylePropertyCount;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "BuilderMetrics[renders=" + renderCount + ", elements=" + elementCount + ", maxDepth="
+        + maxDepth + ", outputLength=" + outputLength + ", escapes=" + escapeCount
+        + ", escapedChars=" + escapedCharCount + ", styleProperties=" + stylePropertyCount
+        + ", finishNanos=" + finishNanos + (strategy == null ? "" : ", strategy=" + strategy)
+        + "]";
+  }
+
+  /**
+   * Get a copy of these metrics.
+   */
+  private synchronized BuilderMetrics copy() {
+    BuilderMetrics copy = new BuilderMetrics();
+    copy.elementCount = elementCount;
+    copy.escapeCount = escapeCount;
+    copy.escapedCharCount = escapedCharCount;
+    copy.finishNanos = finishNanos;
+    copy.maxDepth = maxDepth;
+    copy.outputLength = outputLength;
+    copy.renderCount = renderCount;
+    copy.strategy = strategy;
+    copy.stylePropertyCount = stylePropertyCount;
+    return copy;
+  }
+
+  /**
+   * Record that an element was started.
+   * 
+   * @param depth the number of open elements, including the new one
+   */
+  synchronized void onElementStarted(int depth) {
+    elementCount++;
+    if (depth > maxDepth) {
+      maxDepth = depth;
+    }
+  }
+
+  /**
+   * Record that a value was escaped.
+   * 
+   * @param escapedChars the number of characters replaced by an entity
+   */
+  synchronized void onEscape(int escapedChars) {
+    escapeCount++;
+    escapedCharCount += escapedChars;
+  }
+
+  /**
+   * Record that the element was finished.
+   * 
+   * @param nanos the time spent finishing it
+   * @param length the number of characters produced
+   */
+  synchronized void onFinished(long nanos, int length) {
+    finishNanos = nanos;
+    outputLength = length;
+    renderCount = 1;
+  }
+
+  /**
+   * Record the strategy chosen to build the element.
+   * 
+   * @param strategy the name of the strategy
+   */
+  synchronized void onStrategy(String strategy) {
+    this.strategy = strategy;
+  }
+
+  /**
+   * Record that a style property was added.
+   */
+  synchronized void onStyleProperty() {
+    stylePropertyCount++;
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+/**
+ * Receives the {@link BuilderMetrics} of each element built while the listener
+ * is set with {@link ElementBuilderFactory#setMetricsListener}.
+ */
+public interface BuilderMetricsListener {
+
+  /**
+   * Called once when an element is finished, from the thread that built it.
+   * 
+   * @param metrics the metrics of the element, which are not changed after
+   *          this call
+   */
+  void onRender(BuilderMetrics metrics);
+}
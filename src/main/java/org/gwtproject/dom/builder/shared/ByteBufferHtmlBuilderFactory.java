@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * A {@link StreamingHtmlBuilderFactory} that encodes the HTML as UTF-8 into
+ * pooled {@link ByteBuffer}s and writes them to a {@link WritableByteChannel}.
+ * 
+ * <p>
+ * The characters buffered by the builders are encoded straight into buffers
+ * taken from a {@link ByteBufferPool}, without creating an intermediate String
+ * or byte array, and the filled buffers are written with a single gathering
+ * write when the channel is a {@link GatheringByteChannel}. The buffers are
+ * returned to the pool once written. Servlet output streams can be wrapped
+ * with {@link Channels#newChannel(java.io.OutputStream)}.
+ * </p>
+ * 
+ * <p>
+ * Output is written at the same element boundaries as
+ * {@link StreamingHtmlBuilderFactory}. A factory and its builders are not
+ * thread safe, but the pool can be shared.
+ * </p>
+ */
+@GwtIncompatible("Uses java.nio")
+public class ByteBufferHtmlBuilderFactory extends StreamingHtmlBuilderFactory {
+
+  /**
+   * Create a factory that writes to the specified channel, using a new pool of
+   * heap buffers and the default chunk size and flush depth.
+   * 
+   * @param channel the channel
+   * @return a new {@link ByteBufferHtmlBuilderFactory}
+   */
+  public static ByteBufferHtmlBuilderFactory create(WritableByteChannel channel) {
+    return create(channel, ByteBufferPool.heap(), DEFAULT_CHUNK_SIZE, DEFAULT_FLUSH_DEPTH);
+  }
+
+  /**
+   * Create a factory that writes to the specified channel.
+   * 
+   * @param channel the channel
+   * @param pool the pool that buffers are taken from
+   * @param chunkSize the number of buffered characters above which the buffer
+   *          is written when any element ends
+   * @param flushDepth the depth at or above which ending an element writes the
+   *          buffer, where 1 is the top level element
+   * @return a new {@link ByteBufferHtmlBuilderFactory}
+   */
+  public static ByteBufferHtmlBuilderFactory create(WritableByteChannel channel,
+      ByteBufferPool pool, int chunkSize, int flushDepth) {
+    if (channel == null) {
+      throw new NullPointerException("channel cannot be null");
+    }
+    if (pool == null) {
+      throw new NullPointerException("pool cannot be null");
+    }
+    if (flushDepth < 1) {
+      throw new IllegalArgumentException("flushDepth must be at least 1");
+    }
+    return new ByteBufferHtmlBuilderFactory(channel, pool, chunkSize, flushDepth);
+  }
+
+  /**
+   * The buffers filled by the current write, reused between writes.
+   */
+  private ByteBuffer[] buffers = new ByteBuffer[4];
+
+  private final WritableByteChannel channel;
+  private final ByteBufferPool pool;
+
+  /**
+   * Created from static factory methods.
+   */
+  protected ByteBufferHtmlBuilderFactory(WritableByteChannel channel, ByteBufferPool pool,
+      int chunkSize, int flushDepth) {
+    super(chunkSize, flushDepth);
+    this.channel = channel;
+    this.pool = pool;
+  }
+
+  @Override
+  void write(StringBuilder buffer, boolean flush) {
+    int count = 0;
+    try {
+      count = encode(buffer);
+      if (channel instanceof GatheringByteChannel) {
+        GatheringByteChannel gathering = (GatheringByteChannel) channel;
+        ByteBuffer last = buffers[count - 1];
+        while (last.hasRemaining()) {
+          gathering.write(buffers, 0, count);
+        }
+      } else {
+        for (int i = 0; i < count; i++) {
+          while (buffers[i].hasRemaining()) {
+            channel.write(buffers[i]);
+          }
+        }
+      }
+      buffer.setLength(0);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      for (int i = 0; i < count; i++) {
+        pool.release(buffers[i]);
+        buffers[i] = null;
+      }
+    }
+  }
+
+  /**
+   * Encode the buffer as UTF-8 into pooled buffers, which are flipped and
+   * stored in {@link #buffers}. Unpaired surrogates are encoded as '?', as
+   * {@link String#getBytes(java.nio.charset.Charset)} does.
+   * 
+   * @param buffer the characters to encode
+   * @return the number of buffers used, at least 1
+   */
+  private int encode(StringBuilder buffer) {
+    int count = 0;
+    ByteBuffer out = pool.acquire();
+    int length = buffer.length();
+    int i = 0;
+    while (i < length) {
+      if (out.remaining() < ByteBufferPool.MIN_BUFFER_SIZE) {
+        count = add(out, count);
+        out = pool.acquire();
+      }
+
+      // Tags, attribute names and most content are ASCII.
+      char c = buffer.charAt(i++);
+      if (c < 0x80) {
+        out.put((byte) c);
+      } else if (c < 0x800) {
+        out.put((byte) (0xc0 | (c >> 6)));
+        out.put((byte) (0x80 | (c & 0x3f)));
+      } else if (Character.isSurrogate(c)) {
+        if (Character.isHighSurrogate(c) && i < length
+            && Character.isLowSurrogate(buffer.charAt(i))) {
+          int codePoint = Character.toCodePoint(c, buffer.charAt(i++));
+          out.put((byte) (0xf0 | (codePoint >> 18)));
+          out.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+          out.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+          out.put((byte) (0x80 | (codePoint & 0x3f)));
+        } else {
+          out.put((byte) '?');
+        }
+      } else {
+        out.put((byte) (0xe0 | (c >> 12)));
+        out.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+        out.put((byte) (0x80 | (c & 0x3f)));
+      }
+    }
+    return add(out, count);
+  }
+
+  /**
+   * Flip a filled buffer and add it to {@link #buffers}.
+   * 
+   * @return the new number of buffers
+   */
+  private int add(ByteBuffer out, int count) {
+    out.flip();
+    if (count == buffers.length) {
+      buffers = Arrays.copyOf(buffers, count * 2);
+    }
+    buffers[count] = out;
+    return count + 1;
+  }
+}
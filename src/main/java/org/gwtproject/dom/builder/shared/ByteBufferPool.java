@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A thread safe pool of fixed size {@link ByteBuffer}s, used by
+ * {@link ByteBufferHtmlBuilderFactory} to encode HTML without allocating new
+ * buffers for every response. A single pool is typically shared by all
+ * requests.
+ */
+@GwtIncompatible("Uses java.nio and java.util.concurrent")
+public class ByteBufferPool {
+
+  /**
+   * The default size of each buffer.
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+  /**
+   * The default number of idle buffers kept by a pool.
+   */
+  public static final int DEFAULT_MAX_IDLE = 64;
+
+  /**
+   * The smallest allowed buffer size, which is large enough to hold any UTF-8
+   * encoded character.
+   */
+  static final int MIN_BUFFER_SIZE = 4;
+
+  /**
+   * Create a pool of direct buffers using the default buffer size and number
+   * of idle buffers. Direct buffers avoid a copy when writing to a socket
+   * channel.
+   * 
+   * @return a new {@link ByteBufferPool}
+   */
+  public static ByteBufferPool direct() {
+    return direct(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_IDLE);
+  }
+
+  /**
+   * Create a pool of direct buffers.
+   * 
+   * @param bufferSize the size of each buffer, at least 4 bytes
+   * @param maxIdle the maximum number of idle buffers kept by the pool
+   * @return a new {@link ByteBufferPool}
+   */
+  public static ByteBufferPool direct(int bufferSize, int maxIdle) {
+    return new ByteBufferPool(bufferSize, maxIdle, true);
+  }
+
+  /**
+   * Create a pool of heap buffers using the default buffer size and number of
+   * idle buffers.
+   * 
+   * @return a new {@link ByteBufferPool}
+   */
+  public static ByteBufferPool heap() {
+    return heap(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_IDLE);
+  }
+
+  /**
+   * Create a pool of heap buffers.
+   * 
+   * @param bufferSize the size of each buffer, at least 4 bytes
+   * @param maxIdle the maximum number of idle buffers kept by the pool
+   * @return a new {@link ByteBufferPool}
+   */
+  public static ByteBufferPool heap(int bufferSize, int maxIdle) {
+    return new ByteBufferPool(bufferSize, maxIdle, false);
+  }
+
+  private final int bufferSize;
+  private final boolean direct;
+  private final ArrayBlockingQueue<ByteBuffer> idle;
+
+  /**
+   * Created from static factory methods.
+   */
+  private ByteBufferPool(int bufferSize, int maxIdle, boolean direct) {
+    if (bufferSize < MIN_BUFFER_SIZE) {
+      throw new IllegalArgumentException("bufferSize must be at least " + MIN_BUFFER_SIZE);
+    }
+    this.bufferSize = bufferSize;
+    this.direct = direct;
+    this.idle = new ArrayBlockingQueue<ByteBuffer>(maxIdle);
+  }
+
+  /**
+   * Take a cleared buffer from the pool, allocating a new one if the pool is
+   * empty.
+   * 
+   * @return a buffer of {@link #getBufferSize()} bytes
+   */
+  public ByteBuffer acquire() {
+    ByteBuffer buffer = idle.poll();
+    if (buffer == null) {
+      buffer = direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+    }
+    return buffer;
+  }
+
+  /**
+   * Get the size of the buffers in this pool.
+   * 
+   * @return the size in bytes
+   */
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * Clear a buffer and return it to the pool. The buffer is dropped if the pool
+   * is full or if it was not allocated by a pool of the same kind.
+   * 
+   * @param buffer the buffer, which must not be used afterwards
+   */
+  public void release(ByteBuffer buffer) {
+    if (buffer.capacity() == bufferSize && buffer.isDirect() == direct) {
+      buffer.clear();
+      idle.offer(buffer);
+    }
+  }
+}
@@ -16,6 +16,7 @@
 package org.gwtproject.dom.builder.shared;
 
 import org.gwtproject.dom.builder.client.DomBuilderFactory;
+import org.gwtproject.dom.client.Element;
 
 /**
  * Factory for creating element builders.
@@ -92,24 +93,45 @@ import org.gwtproject.dom.builder.client.DomBuilderFactory;
  */
 public abstract class ElementBuilderFactory {
 
-  private static ElementBuilderFactory instance;
-
   /**
-   * Get the instance of the {@link ElementBuilderFactory}.
-   * 
-   * @return the {@link ElementBuilderFactory}
+   * Holds the instance, which is created when the holder class is initialized
+   * so that concurrent callers always see the same fully constructed factory.
    */
-  public static ElementBuilderFactory get() {
-    if (instance == null) {
+  private static class InstanceHolder {
+    private static final ElementBuilderFactory INSTANCE = create();
+
+    private static ElementBuilderFactory create() {
       if ("safari".equals(System.getProperty("user.agent"))) {
         // The old GWT module was configured to only allow "safari" user agent to manipulate the dom directly
-        instance = DomBuilderFactory.get();
+        return DomBuilderFactory.get();
       } else {
         // All other browsers (and the JVM itself) get the string-based implementation
-        instance = HtmlBuilderFactory.get();
+        return HtmlBuilderFactory.get();
       }
     }
-    return instance;
+  }
+
+  /**
+   * Get the instance of the {@link ElementBuilderFactory}. The implementation
+   * is chosen once, based on the user agent. Use an
+   * {@link AdaptiveElementBuilderFactory} to choose for each kind of element
+   * by measuring the builds instead.
+   * 
+   * @return the {@link ElementBuilderFactory}
+   */
+  public static ElementBuilderFactory get() {
+    return InstanceHolder.INSTANCE;
+  }
+
+  /**
+   * Set the listener that receives the {@link BuilderMetrics} of each element
+   * built by builders created or reset from now on, from any factory. Metrics
+   * are not collected while no listener is set, which is the default.
+   * 
+   * @param listener the listener, or null to stop collecting metrics
+   */
+  public static void setMetricsListener(BuilderMetricsListener listener) {
+    ElementBuilderImpl.metricsListener = listener;
   }
 
   /**
@@ -272,4 +294,17 @@ public abstract class ElementBuilderFactory {
    * @return an {@link ElementBuilder} used to build the element
    */
   public abstract ElementBuilder trustedCreate(String tagName);
+
+  /**
+   * Build a precompiled template as a new element. The default implementation
+   * replays the recorded calls through a new builder; subclasses may build the
+   * element more directly.
+   * 
+   * @param template the template
+   * @param args the values of the holes, already checked against the template
+   * @return the element
+   */
+  protected Element finishTemplate(ElementTemplate template, Object[] args) {
+    return template.replay(this, args);
+  }
 }
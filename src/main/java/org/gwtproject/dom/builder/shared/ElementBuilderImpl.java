@@ -15,7 +15,6 @@
  */
 package org.gwtproject.dom.builder.shared;
 
-import org.gwtproject.regexp.shared.RegExp;
 import org.gwtproject.safehtml.shared.SafeHtml;
 import org.gwtproject.dom.client.Element;
 
@@ -36,71 +35,67 @@ import org.gwtproject.dom.client.Element;
  */
 public abstract class ElementBuilderImpl {
 
-  /**
-   * A node in the builder stack.
-   */
-  private static class StackNode {
-    private final ElementBuilderBase<?> builder;
-    private StackNode next;
-    private final String tagName;
-
-    public StackNode(String tagName, ElementBuilderBase<?> builder) {
-      this.builder = builder;
-      this.tagName = tagName;
-    }
-  }
-
   /**
    * A stack that allows quick access to its top element.
    * 
    * <p>
-   * FastPeekStack is implemented using a simple linked list of nodes to avoid
-   * the dynamic casts associated with the emulated version of
+   * FastPeekStack is implemented using parallel arrays of builders and tag
+   * names to avoid the dynamic casts associated with the emulated version of
    * {@link java.util.ArrayList}. When constructing a large DOM structure, such
    * as a table, the dynamic casts in ArrayList can significantly degrade
-   * performance.
+   * performance. The arrays grow as needed and are kept when the stack is
+   * cleared, so pushing and popping elements does not allocate.
    * </p>
    */
   private class FastPeekStack {
 
     private static final String EMPTY_STACK_MESSAGE = "There are no elements on the stack.";
 
-    /**
-     * The top item in the stack.
-     */
-    private StackNode top;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private ElementBuilderBase<?>[] builders = new ElementBuilderBase<?>[INITIAL_CAPACITY];
     private int size = 0;
+    private String[] tagNames = new String[INITIAL_CAPACITY];
 
     public boolean isEmpty() {
-      return (top == null);
+      return (size == 0);
     }
 
-    public StackNode peek() {
+    /**
+     * Get the builder at the top of the stack.
+     */
+    public ElementBuilderBase<?> peekBuilder() {
       assertNotEmpty();
-      return top;
+      return builders[size - 1];
     }
 
     /**
-     * Pop the current {@link StackNode} and return it.
+     * Get the tag name at the top of the stack.
+     */
+    public String peekTagName() {
+      assertNotEmpty();
+      return tagNames[size - 1];
+    }
+
+    /**
+     * Pop the top item off of the stack.
      * 
      * <p>
-     * The popped node will be recycled and should not be saved.
+     * The slot is not cleared. It only ever references builders owned by this
+     * implementation and their tag names, and is overwritten by the next push.
      * </p>
-     * 
-     * @return the popped node
      */
-    public StackNode pop() {
+    public void pop() {
       assertNotEmpty();
-      StackNode toRet = top;
-      top = top.next;
       size--;
-      return toRet;
     }
 
     public void push(ElementBuilderBase<?> builder, String tagName) {
-      StackNode node = new StackNode(tagName, builder);
-      node.next = top;
-      top = node;
+      if (size == builders.length) {
+        grow();
+      }
+      builders[size] = builder;
+      tagNames[size] = tagName;
       size++;
     }
 
@@ -118,15 +113,74 @@ public abstract class ElementBuilderImpl {
         throw new IllegalStateException(EMPTY_STACK_MESSAGE);
       }
     }
+
+    /**
+     * Double the capacity of the stack.
+     */
+    private void grow() {
+      ElementBuilderBase<?>[] newBuilders = new ElementBuilderBase<?>[size * 2];
+      String[] newTagNames = new String[size * 2];
+      System.arraycopy(builders, 0, newBuilders, 0, size);
+      System.arraycopy(tagNames, 0, newTagNames, 0, size);
+      builders = newBuilders;
+      tagNames = newTagNames;
+    }
   }
 
   /**
-   * A regex for matching valid HTML tags.
+   * Flag for characters that may start a tag name.
+   */
+  private static final byte TAG_NAME_START = 1;
+
+  /**
+   * Flag for characters that may appear after the first character of a tag
+   * name.
    */
-  private static RegExp HTML_TAG_REGEX;
+  private static final byte TAG_NAME_PART = 2;
+
+  /**
+   * Character classes for valid HTML tags, indexed by character. Tags start
+   * with a-z, plus 0 or more alphanumeric values (case insensitive).
+   */
+  private static final byte[] TAG_NAME_CHARS = new byte['z' + 1];
+
+  static {
+    for (char c = '0'; c <= '9'; c++) {
+      TAG_NAME_CHARS[c] = TAG_NAME_PART;
+    }
+    for (char c = 'a'; c <= 'z'; c++) {
+      TAG_NAME_CHARS[c] = TAG_NAME_START | TAG_NAME_PART;
+      TAG_NAME_CHARS[Character.toUpperCase(c)] = TAG_NAME_START | TAG_NAME_PART;
+    }
+  }
+
+  /**
+   * Tag names that have already passed validation, indexed by hash code. Most
+   * tag names are string constants, so a repeated tag is usually found with an
+   * identity comparison. Racing writes are harmless; they only cause a name to
+   * be validated again.
+   */
+  private static final String[] VALID_TAG_NAMES = new String[64];
+
+  /**
+   * The listener set with {@link ElementBuilderFactory#setMetricsListener}.
+   */
+  static volatile BuilderMetricsListener metricsListener;
+
+  /**
+   * The value returned by {@link #startFinishTimer()} when the finish is not
+   * timed.
+   */
+  private static final long NOT_TIMED = Long.MIN_VALUE;
 
   private boolean asElementCalled;
 
+  /**
+   * True if the state of the builder is checked on each call. See
+   * {@link #ElementBuilderImpl(boolean)}.
+   */
+  private final boolean isChecked;
+
   /**
    * True if the top most element has not yet been added.
    */
@@ -153,16 +207,82 @@ public abstract class ElementBuilderImpl {
    */
   private boolean isStyleOpen;
 
+  /**
+   * The listener of this builder, read when the builder is created or reset.
+   */
+  private BuilderMetricsListener listener = metricsListener;
+
+  /**
+   * The metrics of the element being built, or null if metrics are disabled or
+   * have been reported.
+   */
+  private BuilderMetrics metrics = (listener == null) ? null : new BuilderMetrics();
+
+  /**
+   * The output length when the current top level element was started, so the
+   * metrics of each top level element only count its own output.
+   */
+  private int outputStart;
+
   /**
    * The stack of element builders.
    */
   private final FastPeekStack stack = new FastPeekStack();
 
-  public ElementBuilderImpl() {
-    if (HTML_TAG_REGEX == null) {
-      // Starts with a-z, plus 0 or more alphanumeric values (case insensitive).
-      HTML_TAG_REGEX = RegExp.compile("^[a-z][a-z0-9]*$", "i");
+  /**
+   * Check if the specified tag name is a valid HTML tag name.
+   * 
+   * @param tagName the tag name
+   * @return true if valid, false if not
+   */
+  static boolean isValidTagName(String tagName) {
+    int index = tagName.hashCode() & (VALID_TAG_NAMES.length - 1);
+    if (VALID_TAG_NAMES[index] == tagName) {
+      return true;
+    }
+
+    int length = tagName.length();
+    if (length == 0) {
+      return false;
     }
+    byte required = TAG_NAME_START;
+    for (int i = 0; i < length; i++) {
+      char c = tagName.charAt(i);
+      if (c >= TAG_NAME_CHARS.length || (TAG_NAME_CHARS[c] & required) == 0) {
+        return false;
+      }
+      required = TAG_NAME_PART;
+    }
+    VALID_TAG_NAMES[index] = tagName;
+    return true;
+  }
+
+  /**
+   * Construct a builder that checks its state on each call.
+   */
+  protected ElementBuilderImpl() {
+    this(true);
+  }
+
+  /**
+   * Construct a builder.
+   * 
+   * <p>
+   * An unchecked builder skips the checks that calls are made in a valid order,
+   * such as adding an attribute before any child or ending an element with the
+   * wrong tag name, and produces undefined output if they are not. Tag names
+   * are still validated, text and attribute values are still escaped, and an
+   * element with a forbidden end tag, whose start tag is never closed, still
+   * rejects text, html and child elements, so no value can add markup to a
+   * start tag. It is meant for rendering code that has already been tested
+   * with checked builders.
+   * </p>
+   * 
+   * @param isChecked true to check the state on each call, false to skip the
+   *          checks
+   */
+  protected ElementBuilderImpl(boolean isChecked) {
+    this.isChecked = isChecked;
   }
 
   public void end() {
@@ -172,7 +292,7 @@ public abstract class ElementBuilderImpl {
   public void end(String tagName) {
     // Verify the tag name matches the expected tag.
     String topItem = getCurrentTagName();
-    if (!topItem.equalsIgnoreCase(tagName)) {
+    if (isChecked && !topItem.equalsIgnoreCase(tagName)) {
       throw new IllegalStateException("Specified tag \"" + tagName
           + "\" does not match the current element \"" + topItem + "\"");
     }
@@ -182,7 +302,7 @@ public abstract class ElementBuilderImpl {
   }
 
   public void endStyle() {
-    if (!isStyleOpen) {
+    if (isChecked && !isStyleOpen) {
       throw new IllegalStateException(
           "Attempting to close a style attribute, but the style attribute isn't open");
     }
@@ -198,12 +318,15 @@ public abstract class ElementBuilderImpl {
     if (asElementCalled) {
       throw new IllegalStateException("asElement() can only be called once.");
     }
+    long start = startFinishTimer();
     asElementCalled = true;
 
     // End all open tags.
     endAllTags();
 
-    return doFinishImpl();
+    Element element = doFinishImpl();
+    stopFinishTimer(start);
+    return element;
   }
 
   public int getDepth() {
@@ -218,34 +341,7 @@ public abstract class ElementBuilderImpl {
   }
 
   public void onStart(String tagName, ElementBuilderBase<?> builder) {
-    if (isEmpty) {
-      isEmpty = false;
-    } else if (stack.isEmpty()) {
-      // Check that we aren't creating another top level element.
-      throw new IllegalStateException("You can only build one top level element.");
-    } else {
-      // Check that the element supports children.
-      assertEndTagNotForbidden("child elements");
-      if (!getCurrentBuilder().isChildElementSupported()) {
-        throw new UnsupportedOperationException(getCurrentTagName()
-            + " does not support child elements.");
-      }
-    }
-
-    // Check that asElement hasn't already been called.
-    if (isHtmlOrTextAdded) {
-      throw new IllegalStateException("Cannot append an element after setting text of html.");
-    }
-
-    // Validate the tagName.
-    assertValidTagName(tagName);
-
-    maybeCloseStartTag();
-    stack.push(builder, tagName);
-    isStartTagOpen = true;
-    isStyleOpen = false;
-    isStyleClosed = false;
-    isHtmlOrTextAdded = false;
+    onStartImpl(tagName, builder, true);
   }
 
   /**
@@ -263,6 +359,39 @@ public abstract class ElementBuilderImpl {
     doTextImpl(text);
   }
 
+  /**
+   * End all open elements and allow another top level element to be started
+   * after them, so that several top level elements can be built into the same
+   * output. The metrics of each top level element are reported separately.
+   * 
+   * @see HtmlFragmentBuilder
+   */
+  protected void allowNextRoot() {
+    if (!isEmpty) {
+      // Report the metrics of the previous top level element.
+      long start = startFinishTimer();
+      endAllTags();
+      stopFinishTimer(start);
+    }
+    isEmpty = true;
+    resetMetrics();
+    outputStart = getOutputLength();
+  }
+
+  /**
+   * Add a precompiled template as a child of the current element without
+   * replaying its calls through the builder API, if the implementation has a
+   * faster way to do so.
+   * 
+   * @param template the template
+   * @param args the values of the holes in the template
+   * @return true if the template was added, false if its calls must be
+   *         replayed
+   */
+  protected boolean appendTemplate(ElementTemplate template, Object[] args) {
+    return false;
+  }
+
   /**
    * Assert that the builder is in a state where an attribute can be added.
    * 
@@ -283,7 +412,7 @@ public abstract class ElementBuilderImpl {
         + "element.");
 
     // Check if a style attribute already exists.
-    if (isStyleClosed) {
+    if (isChecked && isStyleClosed) {
       throw new IllegalStateException(
           "Style properties must be added at the same time. If you already added style properties,"
               + " you cannot add more after adding non-style attributes.");
@@ -294,6 +423,10 @@ public abstract class ElementBuilderImpl {
       isStyleOpen = true;
       doOpenStyleImpl();
     }
+
+    if (metrics != null) {
+      metrics.onStyleProperty();
+    }
   }
 
   /**
@@ -302,7 +435,7 @@ public abstract class ElementBuilderImpl {
    * @throws IllegalArgumentException if not valid
    */
   protected void assertValidTagName(String tagName) {
-    if (!HTML_TAG_REGEX.test(tagName)) {
+    if (!isValidTagName(tagName)) {
       throw new IllegalArgumentException("The specified tag name is invalid: " + tagName);
     }
   }
@@ -370,6 +503,95 @@ public abstract class ElementBuilderImpl {
     }
   }
 
+  /**
+   * Get the metrics of the element being built, so subclasses can record the
+   * work they do.
+   * 
+   * @return the metrics, or null if metrics are disabled
+   */
+  protected BuilderMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Get the number of characters of output produced so far, reported in the
+   * metrics when the element is finished. Returns 0 by default.
+   */
+  protected int getOutputLength() {
+    return 0;
+  }
+
+  /**
+   * Start an element whose tag name is a built-in constant known to be valid,
+   * such as {@link org.gwtproject.dom.client.DivElement#TAG}. Same as
+   * {@link #onStart(String, ElementBuilderBase)}, but the tag name is not
+   * validated.
+   */
+  protected void onBuiltInStart(String tagName, ElementBuilderBase<?> builder) {
+    onStartImpl(tagName, builder, false);
+  }
+
+  /**
+   * Check that a complete child element can be added to the current element,
+   * and update the state as if the child had been started and ended. Used by
+   * subclasses that write a prebuilt element, such as an
+   * {@link ElementTemplate}, directly to their output.
+   * 
+   * @throws IllegalStateException if there is no open element, or text or html
+   *           has already been added to it
+   */
+  protected void onTrustedChild() {
+    if (stack.isEmpty()) {
+      throw new IllegalStateException("A child element can only be added to an open element.");
+    }
+    assertEndTagNotForbidden("child elements");
+    if (isChecked) {
+      if (!getCurrentBuilder().isChildElementSupported()) {
+        throw new UnsupportedOperationException(getCurrentTagName()
+            + " does not support child elements.");
+      }
+      if (isHtmlOrTextAdded) {
+        throw new IllegalStateException("Cannot append an element after setting text of html.");
+      }
+    }
+
+    maybeCloseStartTag();
+    isStartTagOpen = false;
+    isStyleClosed = true;
+    isHtmlOrTextAdded = false;
+
+    if (metrics != null) {
+      metrics.onElementStarted(stack.size() + 1);
+    }
+  }
+
+  /**
+   * Start timing the end of the element by a subclass, such as when the HTML is
+   * returned as a string without calling {@link #finish()}.
+   * 
+   * @return the start time to pass to {@link #stopFinishTimer(long)}, or a
+   *         value that is ignored if metrics are disabled or the element is
+   *         being finished by {@link #finish()}, which times it instead
+   */
+  protected long startFinishTimer() {
+    return (metrics == null || asElementCalled) ? NOT_TIMED : System.nanoTime();
+  }
+
+  /**
+   * Report the metrics of the element to the listener, if the finish was timed.
+   * Metrics are reported once; later changes are not recorded.
+   * 
+   * @param start the value returned by {@link #startFinishTimer()}
+   */
+  protected void stopFinishTimer(long start) {
+    if (start != NOT_TIMED && metrics != null) {
+      BuilderMetrics finished = metrics;
+      metrics = null;
+      finished.onFinished(System.nanoTime() - start, getOutputLength() - outputStart);
+      listener.onRender(finished);
+    }
+  }
+
   /**
    * Lock the current element, preventing any additional changes to it. The only
    * valid option is to call {@link #end()}.
@@ -380,6 +602,24 @@ public abstract class ElementBuilderImpl {
     isHtmlOrTextAdded = true;
   }
 
+  /**
+   * Replace the listener that receives the metrics of the element, and record
+   * the metrics even if no listener is set with
+   * {@link ElementBuilderFactory#setMetricsListener}. Used by factories that
+   * measure the builders they create, which pass the metrics on to that
+   * listener.
+   * 
+   * @param listener the listener of this builder
+   * @return the metrics of the element
+   */
+  BuilderMetrics setMetricsListener(BuilderMetricsListener listener) {
+    this.listener = listener;
+    if (metrics == null) {
+      metrics = new BuilderMetrics();
+    }
+    return metrics;
+  }
+
   /**
    * Assert that the current builder does not forbid end tags.
    * 
@@ -400,7 +640,7 @@ public abstract class ElementBuilderImpl {
    * @throw {@link IllegalStateException} if the start tag is closed
    */
   private void assertStartTagOpen(String message) {
-    if (!isStartTagOpen) {
+    if (isChecked && !isStartTagOpen) {
       throw new IllegalStateException(message);
     }
   }
@@ -442,8 +682,8 @@ public abstract class ElementBuilderImpl {
    * @return an {@link ElementBuilderBase}
    * @throws IllegalStateException if there are no elements on the stack
    */
-  private ElementBuilderBase<?> getCurrentBuilder() {
-    return stack.peek().builder;
+  ElementBuilderBase<?> getCurrentBuilder() {
+    return stack.peekBuilder();
   }
 
   /**
@@ -453,7 +693,7 @@ public abstract class ElementBuilderImpl {
    * @throws IllegalStateException if there are no elements on the stack
    */
   private String getCurrentTagName() {
-    return stack.peek().tagName;
+    return stack.peekTagName();
   }
 
   /**
@@ -484,4 +724,53 @@ public abstract class ElementBuilderImpl {
       doCloseStyleAttributeImpl();
     }
   }
+
+  /**
+   * Start an element, optionally validating the tag name.
+   */
+  private void onStartImpl(String tagName, ElementBuilderBase<?> builder, boolean validate) {
+    if (isEmpty) {
+      isEmpty = false;
+    } else if (stack.isEmpty()) {
+      // Check that we aren't creating another top level element.
+      throw new IllegalStateException("You can only build one top level element.");
+    } else {
+      // Check that the element supports children.
+      assertEndTagNotForbidden("child elements");
+      if (isChecked && !getCurrentBuilder().isChildElementSupported()) {
+        throw new UnsupportedOperationException(getCurrentTagName()
+            + " does not support child elements.");
+      }
+    }
+
+    // Check that asElement hasn't already been called.
+    if (isChecked && isHtmlOrTextAdded) {
+      throw new IllegalStateException("Cannot append an element after setting text of html.");
+    }
+
+    // Validate the tagName.
+    if (validate) {
+      assertValidTagName(tagName);
+    }
+
+    maybeCloseStartTag();
+    stack.push(builder, tagName);
+    if (metrics != null) {
+      metrics.onElementStarted(stack.size());
+    }
+    isStartTagOpen = true;
+    isStyleOpen = false;
+    isStyleClosed = false;
+    isHtmlOrTextAdded = false;
+  }
+
+  /**
+   * Start recording the metrics of a new top level element, with the listener
+   * set at this time.
+   */
+  private void resetMetrics() {
+    listener = metricsListener;
+    metrics = (listener == null) ? null : new BuilderMetrics();
+    outputStart = 0;
+  }
 }
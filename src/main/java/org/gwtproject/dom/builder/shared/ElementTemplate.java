@@ -0,0 +1,743 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.dom.builder.client.DomBuilderFactory;
+import org.gwtproject.dom.client.Element;
+import org.gwtproject.safehtml.shared.SafeHtml;
+import org.gwtproject.safehtml.shared.SafeHtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable, precompiled element with holes for values that change each
+ * time it is rendered, such as the text of a table cell.
+ * 
+ * <p>
+ * A template is recorded once with the same sequence of calls that would be
+ * made on an {@link ElementBuilderBase}. The state checks, tag name validation
+ * and escaping of the constant parts happen while recording, so rendering a
+ * template is a single pass that appends the constant HTML chunks and the
+ * escaped hole values.
+ * </p>
+ * 
+ * <pre>
+ * private static final ElementTemplate ROW = ElementTemplate.start("tr")
+ *     .attribute("class", "row")
+ *     .start("td").attributeHole("title").textHole().end()
+ *     .start("td").styleHole("width").textHole().end()
+ *     .build();
+ * 
+ * TableSectionBuilder tbody = table.startTBody();
+ * for (Item item : items) {
+ *   ROW.appendTo(tbody, item.getTooltip(), item.getName(), item.getWidth(), item.getValue());
+ * }
+ * </pre>
+ * 
+ * <p>
+ * Hole values are passed in the order the holes were recorded. Text, attribute
+ * and style values are converted with {@link String#valueOf(Object)} and
+ * escaped. HTML values must be {@link SafeHtml}. Templates work with every
+ * {@link ElementBuilderFactory}: HTML builders append the rendered string
+ * directly, DOM builders clone a cached skeleton of the template (see
+ * {@link #cloneElement(Object...)}), and other builders replay the recorded
+ * calls.
+ * </p>
+ */
+public class ElementTemplate {
+
+  /**
+   * Records the calls that make up an {@link ElementTemplate}. Each call
+   * follows the same rules as the equivalent {@link ElementBuilderBase} method.
+   */
+  public static class Recorder {
+
+    /**
+     * The constant chunk being recorded, up to the next hole.
+     */
+    private StringBuilder chunk = new StringBuilder();
+
+    private final List<String> chunks = new ArrayList<String>();
+    private final List<Integer> holes = new ArrayList<Integer>();
+    private boolean isHtmlOrTextAdded;
+    private boolean isRootEnded;
+    private boolean isStartTagOpen;
+    private boolean isStyleClosed;
+    private boolean isStyleOpen;
+    private final List<Op> ops = new ArrayList<Op>();
+    private final List<String> tagNames = new ArrayList<String>();
+
+    /**
+     * Created from {@link ElementTemplate#start(String)}.
+     */
+    private Recorder() {
+    }
+
+    /**
+     * Add an attribute with a constant value.
+     * 
+     * @param name the attribute name
+     * @param value the attribute value
+     * @return this recorder
+     */
+    public Recorder attribute(String name, String value) {
+      startAttribute(name, value);
+      HtmlBuilderImpl.appendEscaped(chunk, value);
+      chunk.append("\"");
+      return this;
+    }
+
+    /**
+     * Add an attribute whose value is supplied when the template is rendered.
+     * 
+     * @param name the attribute name
+     * @return this recorder
+     */
+    public Recorder attributeHole(String name) {
+      startAttribute(name, null);
+      addHole(ATTRIBUTE);
+      chunk.append("\"");
+      return this;
+    }
+
+    /**
+     * End all open elements and create the template.
+     * 
+     * @return the {@link ElementTemplate}
+     * @throws IllegalStateException if the template has already been built
+     */
+    public ElementTemplate build() {
+      if (chunk == null) {
+        throw new IllegalStateException("The template has already been built.");
+      }
+      while (!tagNames.isEmpty()) {
+        end();
+      }
+      chunks.add(chunk.toString());
+      chunk = null;
+      return new ElementTemplate(this);
+    }
+
+    /**
+     * End the current element.
+     * 
+     * @return this recorder
+     */
+    public Recorder end() {
+      if (tagNames.isEmpty()) {
+        throw new IllegalStateException("There are no elements to end.");
+      }
+      closeStartTag();
+      String tagName = tagNames.remove(tagNames.size() - 1);
+      if (isEndTagForbidden(tagName)) {
+        chunk.append(" />");
+      } else {
+        chunk.append("</").append(tagName).append(">");
+      }
+      ops.add(new Op(END, tagName, null));
+
+      isStartTagOpen = false;
+      isStyleClosed = true;
+      isHtmlOrTextAdded = false;
+      isRootEnded = tagNames.isEmpty();
+      return this;
+    }
+
+    /**
+     * Append constant HTML to the current element.
+     * 
+     * @param html the HTML
+     * @return this recorder
+     */
+    public Recorder html(SafeHtml html) {
+      lockCurrentElement("html");
+      chunk.append(html.asString());
+      ops.add(new Op(HTML, null, html));
+      return this;
+    }
+
+    /**
+     * Append HTML that is supplied as a {@link SafeHtml} when the template is
+     * rendered.
+     * 
+     * @return this recorder
+     */
+    public Recorder htmlHole() {
+      lockCurrentElement("html");
+      addHole(HTML);
+      ops.add(new Op(HTML, null, null));
+      return this;
+    }
+
+    /**
+     * Start a child element of the current element.
+     * 
+     * @param tagName the tag name, which must be a valid HTML tag name
+     * @return this recorder
+     */
+    public Recorder start(String tagName) {
+      if (!ElementBuilderImpl.isValidTagName(tagName)) {
+        throw new IllegalArgumentException("The specified tag name is invalid: " + tagName);
+      }
+      if (isRootEnded) {
+        throw new IllegalStateException("A template can only contain one top level element.");
+      }
+      if (!tagNames.isEmpty()) {
+        if (isEndTagForbidden(getCurrentTagName())) {
+          throw new UnsupportedOperationException(getCurrentTagName()
+              + " does not support child elements.");
+        }
+        if (isHtmlOrTextAdded) {
+          throw new IllegalStateException("Cannot append an element after setting text of html.");
+        }
+        closeStartTag();
+      }
+
+      chunk.append("<").append(tagName);
+      tagNames.add(tagName);
+      ops.add(new Op(START, tagName, null));
+      isStartTagOpen = true;
+      isStyleOpen = false;
+      isStyleClosed = false;
+      isHtmlOrTextAdded = false;
+      return this;
+    }
+
+    /**
+     * Add a style property with a constant value. Like
+     * {@link StylesBuilder#trustedProperty(String, String)}, the name and value
+     * are not checked, but they are HTML escaped the same way.
+     * 
+     * @param name the property name, in camelCase or hyphenated form
+     * @param value the property value
+     * @return this recorder
+     */
+    public Recorder style(String name, String value) {
+      startStyleProperty(name, value);
+      HtmlBuilderImpl.appendEscaped(chunk, value);
+      chunk.append(";");
+      return this;
+    }
+
+    /**
+     * Add a style property whose value is supplied when the template is
+     * rendered.
+     * 
+     * @param name the property name, in camelCase or hyphenated form
+     * @return this recorder
+     * @see #style(String, String)
+     */
+    public Recorder styleHole(String name) {
+      startStyleProperty(name, null);
+      addHole(STYLE);
+      chunk.append(";");
+      return this;
+    }
+
+    /**
+     * Append constant text to the current element.
+     * 
+     * @param text the text, which will be escaped
+     * @return this recorder
+     */
+    public Recorder text(String text) {
+      lockCurrentElement("text");
+      HtmlBuilderImpl.appendEscaped(chunk, text);
+      ops.add(new Op(TEXT, null, text));
+      return this;
+    }
+
+    /**
+     * Append text that is supplied when the template is rendered.
+     * 
+     * @return this recorder
+     */
+    public Recorder textHole() {
+      lockCurrentElement("text");
+      addHole(TEXT);
+      ops.add(new Op(TEXT, null, null));
+      return this;
+    }
+
+    /**
+     * End the current chunk and add a hole of the specified kind.
+     */
+    private void addHole(int kind) {
+      chunks.add(chunk.toString());
+      chunk.setLength(0);
+      holes.add(kind);
+    }
+
+    private void assertStartTagOpen(String message) {
+      if (tagNames.isEmpty() || !isStartTagOpen) {
+        throw new IllegalStateException(message);
+      }
+    }
+
+    private void closeStartTag() {
+      closeStyleAttribute();
+      if (isStartTagOpen) {
+        isStartTagOpen = false;
+        if (!isEndTagForbidden(getCurrentTagName())) {
+          chunk.append(">");
+        }
+      }
+    }
+
+    private void closeStyleAttribute() {
+      if (isStyleOpen) {
+        isStyleOpen = false;
+        isStyleClosed = true;
+        chunk.append("\"");
+      }
+    }
+
+    private String getCurrentTagName() {
+      return tagNames.get(tagNames.size() - 1);
+    }
+
+    /**
+     * Prevent further changes to the current element before adding text or
+     * html.
+     */
+    private void lockCurrentElement(String operation) {
+      assertStartTagOpen(operation + " cannot be set on an element that already "
+          + "contains other content or elements.");
+      closeStartTag();
+      if (isEndTagForbidden(getCurrentTagName())) {
+        throw new UnsupportedOperationException(getCurrentTagName() + " does not support "
+            + operation);
+      }
+      isHtmlOrTextAdded = true;
+    }
+
+    /**
+     * Start an attribute, leaving the chunk just after the opening quote.
+     */
+    private void startAttribute(String name, String value) {
+      assertStartTagOpen("Attributes cannot be added after appending HTML or adding a child "
+          + "element.");
+      closeStyleAttribute();
+      chunk.append(" ");
+      HtmlBuilderImpl.appendEscaped(chunk, name);
+      chunk.append("=\"");
+      ops.add(new Op(ATTRIBUTE, name, value));
+    }
+
+    /**
+     * Start a style property, leaving the chunk just after the colon.
+     */
+    private void startStyleProperty(String name, String value) {
+      assertStartTagOpen("Style properties cannot be added after appending HTML or adding a "
+          + "child element.");
+      if (isStyleClosed) {
+        throw new IllegalStateException(
+            "Style properties must be added at the same time. If you already added style "
+                + "properties, you cannot add more after adding non-style attributes.");
+      }
+      if (!isStyleOpen) {
+        isStyleOpen = true;
+        chunk.append(" style=\"");
+      }
+      HtmlBuilderImpl.appendEscaped(chunk, HtmlStylesBuilder.toHyphenatedForm(name));
+      chunk.append(":");
+      ops.add(new Op(STYLE, name, value));
+    }
+  }
+
+  /**
+   * A recorded builder call. A null value marks a hole.
+   */
+  private static class Op {
+    final int kind;
+    final String name;
+    final Object value;
+
+    Op(int kind, String name, Object value) {
+      this.kind = kind;
+      this.name = name;
+      this.value = value;
+    }
+  }
+
+  /**
+   * A change that fills the holes of one element in a clone of the skeleton.
+   */
+  private static class Patch {
+    final int kind;
+    final String name;
+    final int[] path;
+    final String[] styleChunks;
+
+    /**
+     * @param kind the kind of the holes
+     * @param name the attribute name, or null
+     * @param path the child element indices from the top level element
+     * @param styleChunks the constant parts of the style attribute around the
+     *          style hole values, or null
+     */
+    Patch(int kind, String name, List<Integer> path, String[] styleChunks) {
+      this.kind = kind;
+      this.name = name;
+      this.path = new int[path.size()];
+      for (int i = 0; i < this.path.length; i++) {
+        this.path[i] = path.get(i);
+      }
+      this.styleChunks = styleChunks;
+    }
+
+    /**
+     * Find the element of the holes in a clone of the skeleton.
+     */
+    Element find(Element root) {
+      Element element = root;
+      for (int index : path) {
+        element = element.getFirstChildElement();
+        for (int i = 0; i < index; i++) {
+          element = element.getNextSiblingElement();
+        }
+      }
+      return element;
+    }
+  }
+
+  /*
+   * The kinds of recorded calls. Holes use the kind of the call they belong to.
+   */
+  private static final int ATTRIBUTE = 0;
+  private static final int END = 1;
+  private static final int HTML = 2;
+  private static final int START = 3;
+  private static final int STYLE = 4;
+  private static final int TEXT = 5;
+
+  /**
+   * The tag names of the elements that forbid an end tag, matching the
+   * builders created by {@link HtmlBuilderFactory}.
+   */
+  private static final String[] END_TAG_FORBIDDEN = {
+      "area", "base", "br", "frame", "hr", "img", "input", "link", "meta", "param", "source"};
+
+  /**
+   * Start recording a template with the specified top level element.
+   * 
+   * @param tagName the tag name of the top level element
+   * @return a {@link Recorder}
+   */
+  public static Recorder start(String tagName) {
+    return new Recorder().start(tagName);
+  }
+
+  private static boolean isEndTagForbidden(String tagName) {
+    for (String forbidden : END_TAG_FORBIDDEN) {
+      if (forbidden.equalsIgnoreCase(tagName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private final String[] chunks;
+  private final int[] holes;
+  private final int length;
+  private final Op[] ops;
+
+  /**
+   * The changes that fill the holes of a clone of the skeleton, in hole order.
+   */
+  private Patch[] patches;
+
+  /**
+   * A detached element built from the constant parts of the template, which is
+   * created the first time the template is cloned.
+   */
+  private Element skeleton;
+
+  /**
+   * Created from {@link Recorder#build()}.
+   */
+  private ElementTemplate(Recorder recorder) {
+    chunks = recorder.chunks.toArray(new String[recorder.chunks.size()]);
+    holes = new int[recorder.holes.size()];
+    for (int i = 0; i < holes.length; i++) {
+      holes[i] = recorder.holes.get(i);
+    }
+    ops = recorder.ops.toArray(new Op[recorder.ops.size()]);
+
+    int constantLength = 0;
+    for (String chunk : chunks) {
+      constantLength += chunk.length();
+    }
+    length = constantLength;
+  }
+
+  /**
+   * Add the template as a child of the current element of a builder.
+   * 
+   * @param parent the builder of the parent element
+   * @param args the values of the holes
+   * @throws IllegalArgumentException if the number of values does not match the
+   *           number of holes
+   */
+  public void appendTo(ElementBuilderBase<?> parent, Object... args) {
+    assertArgs(args);
+    ElementBuilderImpl delegate = (parent instanceof AbstractElementBuilderBase)
+        ? ((AbstractElementBuilderBase<?>) parent).getImpl() : null;
+    if (delegate == null || !delegate.appendTemplate(this, args)) {
+      // Replay through the builder API, which also adds any hydration markers.
+      replay(parent.trustedStart(ops[0].name), args);
+    }
+  }
+
+  /**
+   * Build the template as a new {@link Element} by cloning a DOM skeleton.
+   * 
+   * <p>
+   * The first call builds the constant parts of the template with the
+   * {@link DomBuilderFactory} and keeps the result as a skeleton. Each call
+   * then copies the skeleton with a single deep clone and only sets the hole
+   * values, on elements found by child paths computed from the recorded calls,
+   * so most of the work is done natively by the browser. This method only
+   * works on a browser client.
+   * </p>
+   * 
+   * @param args the values of the holes
+   * @return the element
+   * @throws IllegalArgumentException if the number of values does not match the
+   *           number of holes
+   */
+  public Element cloneElement(Object... args) {
+    assertArgs(args);
+    if (skeleton == null) {
+      createSkeleton();
+    }
+
+    Element element = Element.as(skeleton.cloneNode(true));
+    int hole = 0;
+    for (Patch patch : patches) {
+      Element target = patch.find(element);
+      switch (patch.kind) {
+        case ATTRIBUTE:
+          target.setAttribute(patch.name, String.valueOf(args[hole++]));
+          break;
+        case HTML:
+          target.setInnerSafeHtml(asSafeHtml(args[hole++]));
+          break;
+        case STYLE:
+          // Set all of the style properties of the element at once.
+          StringBuilder style = new StringBuilder(patch.styleChunks[0]);
+          for (int i = 1; i < patch.styleChunks.length; i++) {
+            style.append(args[hole++]).append(patch.styleChunks[i]);
+          }
+          target.setAttribute("style", style.toString());
+          break;
+        case TEXT:
+          target.setInnerText(String.valueOf(args[hole++]));
+          break;
+        default:
+          throw new IllegalStateException("Unknown operation " + patch.kind);
+      }
+    }
+    return element;
+  }
+
+  /**
+   * Build the template as a new {@link Element}.
+   * 
+   * @param factory the factory used to build the element
+   * @param args the values of the holes
+   * @return the element
+   * @throws IllegalArgumentException if the number of values does not match the
+   *           number of holes
+   */
+  public Element finish(ElementBuilderFactory factory, Object... args) {
+    assertArgs(args);
+    if (factory instanceof HtmlBuilderFactory) {
+      // Parse the rendered HTML in the template reused by HtmlBuilderImpl.
+      Element element = Element.as(HtmlBuilderImpl.parse(toSafeHtml(args)).getFirstChild());
+      element.removeFromParent();
+      return element;
+    }
+    return factory.finishTemplate(this, args);
+  }
+
+  /**
+   * Get the number of holes in the template.
+   * 
+   * @return the number of values that must be passed when rendering
+   */
+  public int getHoleCount() {
+    return holes.length;
+  }
+
+  /**
+   * Render the template as a {@link SafeHtml} string.
+   * 
+   * @param args the values of the holes
+   * @return the rendered HTML
+   * @throws IllegalArgumentException if the number of values does not match the
+   *           number of holes
+   */
+  public SafeHtml toSafeHtml(Object... args) {
+    assertArgs(args);
+    StringBuilder sb = new StringBuilder(length + 16 * holes.length);
+    render(sb, args);
+
+    // sb is trusted because the chunks are trusted and the values are escaped.
+    return SafeHtmlUtils.fromTrustedString(sb.toString());
+  }
+
+  /**
+   * Build the template as a new {@link Element} by replaying the recorded calls
+   * through a new builder. The arguments must already have been checked.
+   */
+  Element replay(ElementBuilderFactory factory, Object[] args) {
+    ElementBuilder root = factory.trustedCreate(ops[0].name);
+    replay(root, args);
+    return root.finish();
+  }
+
+  /**
+   * Append the rendered template to a buffer. The arguments must already have
+   * been checked.
+   */
+  void render(StringBuilder sb, Object[] args) {
+    sb.append(chunks[0]);
+    for (int i = 0; i < holes.length; i++) {
+      if (holes[i] == HTML) {
+        sb.append(asSafeHtml(args[i]).asString());
+      } else {
+        HtmlBuilderImpl.appendEscaped(sb, String.valueOf(args[i]));
+      }
+      sb.append(chunks[i + 1]);
+    }
+  }
+
+  private SafeHtml asSafeHtml(Object arg) {
+    if (!(arg instanceof SafeHtml)) {
+      throw new IllegalArgumentException("HTML holes require a SafeHtml value, not " + arg);
+    }
+    return (SafeHtml) arg;
+  }
+
+  private void assertArgs(Object[] args) {
+    if (args.length != holes.length) {
+      throw new IllegalArgumentException("Expected " + holes.length + " values but got "
+          + args.length);
+    }
+  }
+
+  /**
+   * Build the skeleton with empty hole values, and compute the patches that
+   * fill the holes of a clone.
+   */
+  private void createSkeleton() {
+    Object[] values = new Object[holes.length];
+    for (int i = 0; i < holes.length; i++) {
+      values[i] = (holes[i] == HTML) ? SafeHtmlUtils.EMPTY_SAFE_HTML : "";
+    }
+
+    List<Patch> list = new ArrayList<Patch>();
+    List<Integer> path = new ArrayList<Integer>();
+    List<Integer> childCounts = new ArrayList<Integer>();
+    List<String> styleChunks = new ArrayList<String>();
+    StringBuilder style = new StringBuilder();
+    for (Op op : ops) {
+      if (op.kind == STYLE) {
+        style.append(HtmlStylesBuilder.toHyphenatedForm(op.name)).append(":");
+        if (op.value == null) {
+          styleChunks.add(style.toString());
+          style.setLength(0);
+        } else {
+          style.append(op.value);
+        }
+        style.append(";");
+        continue;
+      }
+
+      // The style properties of an element are always recorded together.
+      if (!styleChunks.isEmpty()) {
+        styleChunks.add(style.toString());
+        list.add(new Patch(STYLE, null, path,
+            styleChunks.toArray(new String[styleChunks.size()])));
+        styleChunks.clear();
+      }
+      style.setLength(0);
+
+      switch (op.kind) {
+        case START:
+          if (!childCounts.isEmpty()) {
+            int last = childCounts.size() - 1;
+            path.add(childCounts.get(last));
+            childCounts.set(last, childCounts.get(last) + 1);
+          }
+          childCounts.add(0);
+          break;
+        case END:
+          childCounts.remove(childCounts.size() - 1);
+          if (!path.isEmpty()) {
+            path.remove(path.size() - 1);
+          }
+          break;
+        default:
+          if (op.value == null) {
+            list.add(new Patch(op.kind, op.name, path, null));
+          }
+      }
+    }
+
+    patches = list.toArray(new Patch[list.size()]);
+    skeleton = replay(DomBuilderFactory.get(), values);
+  }
+
+  /**
+   * Replay the recorded calls after the start of the top level element, which
+   * the caller has already started.
+   */
+  private void replay(ElementBuilderBase<?> builder, Object[] args) {
+    int hole = 0;
+    for (int i = 1; i < ops.length; i++) {
+      Op op = ops[i];
+      Object value = op.value;
+      if (value == null && op.kind != START && op.kind != END) {
+        value = args[hole++];
+      }
+      switch (op.kind) {
+        case ATTRIBUTE:
+          builder.attribute(op.name, String.valueOf(value));
+          break;
+        case END:
+          builder.end();
+          break;
+        case HTML:
+          builder.html(asSafeHtml(value));
+          break;
+        case START:
+          builder = builder.trustedStart(op.name);
+          break;
+        case STYLE:
+          builder.style().trustedProperty(op.name, String.valueOf(value));
+          break;
+        case TEXT:
+          builder.text(String.valueOf(value));
+          break;
+        default:
+          throw new IllegalStateException("Unknown operation " + op.kind);
+      }
+    }
+  }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.safehtml.shared.SafeHtml;
+import org.gwtproject.safehtml.shared.SafeHtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * An {@link HtmlBuilderFactory} whose builders can render independent
+ * subtrees, called slots, in parallel.
+ * 
+ * <p>
+ * {@link #fork(ElementBuilderBase, SlotRenderer)} adds a slot as the next
+ * child of the current element of a builder created by this factory. The slot
+ * is rendered as a separate top level element by a {@link SlotRenderer}
+ * running on the factory's executor, while the parent builder carries on with
+ * the rest of the element. When {@link HtmlElementBuilderBase#asSafeHtml()} is
+ * called on the parent, it waits for its slots and joins the HTML built by the
+ * parent with the HTML of each slot in document order. The parent keeps its
+ * HTML in one buffer and records where each slot goes, so each piece is copied
+ * once, into a buffer sized for the final string.
+ * </p>
+ * 
+ * <p>
+ * A slot renderer receives this factory, so a slot can fork slots of its own.
+ * When the executor is a {@link ForkJoinPool}, which is the default, a builder
+ * that waits for its slots on a worker thread of the pool helps run pending
+ * slots instead of blocking. Exceptions thrown by a slot renderer are rethrown
+ * by <code>asSafeHtml()</code>.
+ * </p>
+ * 
+ * <p>
+ * The factory is thread safe, but each builder must only be used by one thread
+ * at a time, like the builders of {@link HtmlBuilderFactory}.
+ * </p>
+ * 
+ * <pre>
+ * ForkJoinHtmlBuilderFactory factory = ForkJoinHtmlBuilderFactory.create();
+ * HtmlDivBuilder page = factory.createDivBuilder().className("dashboard");
+ * for (final Panel panel : panels) {
+ *   factory.fork(page, new SlotRenderer() {
+ *     public SafeHtml render(HtmlBuilderFactory factory) {
+ *       return renderPanel(factory, panel);
+ *     }
+ *   });
+ * }
+ * SafeHtml html = page.asSafeHtml();
+ * </pre>
+ */
+@GwtIncompatible("Uses java.util.concurrent executors")
+public class ForkJoinHtmlBuilderFactory extends HtmlBuilderFactory {
+
+  /**
+   * Renders the HTML of a slot.
+   */
+  public interface SlotRenderer {
+
+    /**
+     * Render the slot as a single top level element.
+     * 
+     * @param factory the factory used to create the builder for the slot
+     * @return the HTML of the slot
+     */
+    SafeHtml render(HtmlBuilderFactory factory);
+  }
+
+  /**
+   * An {@link HtmlBuilderImpl} that records the position of each slot in the
+   * HTML it builds, and the pending result of the slot, until the element is
+   * complete.
+   */
+  private static class ForkJoinHtmlBuilderImpl extends HtmlBuilderImpl {
+
+    private SafeHtml html;
+
+    /**
+     * The offset in the buffer of each slot, in document order.
+     */
+    private final List<Integer> offsets = new ArrayList<Integer>();
+
+    /**
+     * The future result of each slot, in document order.
+     */
+    private final List<Future<SafeHtml>> slots = new ArrayList<Future<SafeHtml>>();
+
+    @Override
+    public SafeHtml asSafeHtml() {
+      long start = startFinishTimer();
+
+      // End all open tags.
+      endAllTags();
+
+      if (html == null) {
+        html = join();
+      }
+      stopFinishTimer(start);
+      return html;
+    }
+
+    /**
+     * Add a slot as a child of the current element.
+     */
+    void addSlot(Future<SafeHtml> slot) {
+      onTrustedChild();
+      offsets.add(buffer().length());
+      slots.add(slot);
+    }
+
+    @Override
+    int length() {
+      int length = super.length();
+      for (Future<SafeHtml> slot : slots) {
+        if (slot.isDone()) {
+          length += await(slot).asString().length();
+        }
+      }
+      return length;
+    }
+
+    /**
+     * Wait for all slots and write the HTML of this builder and of the slots
+     * into a single buffer, sized from their lengths.
+     */
+    private SafeHtml join() {
+      StringBuilder buffer = buffer();
+      if (slots.isEmpty()) {
+        return SafeHtmlUtils.fromTrustedString(buffer.toString());
+      }
+
+      String[] pieces = new String[slots.size()];
+      int length = buffer.length();
+      for (int i = 0; i < pieces.length; i++) {
+        pieces[i] = await(slots.get(i)).asString();
+        length += pieces[i].length();
+      }
+      StringBuilder joined = new StringBuilder(length);
+      int start = 0;
+      for (int i = 0; i < pieces.length; i++) {
+        int offset = offsets.get(i);
+        joined.append(buffer, start, offset).append(pieces[i]);
+        start = offset;
+      }
+      joined.append(buffer, start, buffer.length());
+
+      /*
+       * The pieces are trusted because they are either built by this builder or
+       * returned as SafeHtml by a slot.
+       */
+      return SafeHtmlUtils.fromTrustedString(joined.toString());
+    }
+  }
+
+  /**
+   * Create a factory that renders slots on the common {@link ForkJoinPool}.
+   * 
+   * @return a new {@link ForkJoinHtmlBuilderFactory}
+   */
+  public static ForkJoinHtmlBuilderFactory create() {
+    return create(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Create a factory that renders slots on the specified executor.
+   * 
+   * @param executor the executor that runs the slot renderers
+   * @return a new {@link ForkJoinHtmlBuilderFactory}
+   */
+  public static ForkJoinHtmlBuilderFactory create(Executor executor) {
+    return new ForkJoinHtmlBuilderFactory(executor);
+  }
+
+  /**
+   * Wait for the result of a slot.
+   */
+  private static SafeHtml await(Future<SafeHtml> slot) {
+    if (slot instanceof ForkJoinTask) {
+      // Rethrows exceptions as is, and runs pending tasks while waiting.
+      return ((ForkJoinTask<SafeHtml>) slot).join();
+    }
+
+    try {
+      return slot.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException("A slot failed to render.", cause);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a slot to render.", e);
+    }
+  }
+
+  private final Executor executor;
+
+  /**
+   * Created from static factory methods.
+   */
+  ForkJoinHtmlBuilderFactory(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Add a slot as the next child of the current element of a builder created
+   * by this factory. The slot is rendered on the executor of this factory.
+   * 
+   * @param parent the builder of the element that contains the slot
+   * @param renderer the renderer of the slot
+   * @throws IllegalArgumentException if the parent was not created by a
+   *           {@link ForkJoinHtmlBuilderFactory}
+   * @throws IllegalStateException if the current element of the parent cannot
+   *           have another child
+   */
+  public void fork(ElementBuilderBase<?> parent, final SlotRenderer renderer) {
+    HtmlBuilderImpl delegate = (parent instanceof HtmlElementBuilderBase)
+        ? ((HtmlElementBuilderBase<?>) parent).getDelegate() : null;
+    if (!(delegate instanceof ForkJoinHtmlBuilderImpl)) {
+      throw new IllegalArgumentException(
+          "Slots can only be added to builders created by a ForkJoinHtmlBuilderFactory.");
+    }
+    ForkJoinHtmlBuilderImpl impl = (ForkJoinHtmlBuilderImpl) delegate;
+
+    Callable<SafeHtml> task = new Callable<SafeHtml>() {
+      @Override
+      public SafeHtml call() {
+        return renderer.render(ForkJoinHtmlBuilderFactory.this);
+      }
+    };
+    if (executor instanceof ForkJoinPool) {
+      ForkJoinTask<SafeHtml> slot = ForkJoinTask.adapt(task);
+      impl.addSlot(slot);
+      if (ForkJoinTask.getPool() == executor) {
+        slot.fork();
+      } else {
+        ((ForkJoinPool) executor).execute(slot);
+      }
+    } else {
+      FutureTask<SafeHtml> slot = new FutureTask<SafeHtml>(task);
+      impl.addSlot(slot);
+      executor.execute(slot);
+    }
+  }
+
+  @Override
+  HtmlBuilderImpl impl() {
+    return new ForkJoinHtmlBuilderImpl();
+  }
+}
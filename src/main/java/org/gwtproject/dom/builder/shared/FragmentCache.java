@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.safehtml.shared.SafeHtml;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+/**
+ * A cache of rendered HTML fragments, such as menus, headers and static cells,
+ * that are identical across requests. Each fragment is identified by a key and
+ * a version chosen by the caller, and is rendered once by a
+ * {@link FragmentRenderer} until the version changes or the fragment is
+ * evicted.
+ * 
+ * <p>
+ * The cache is bounded by size, counted as the number of characters of HTML
+ * plus the number of bytes of any UTF-8 encoding returned by
+ * {@link #getUtf8(String, Object, FragmentRenderer)}. The least recently used
+ * fragments are evicted first. Adding a cached fragment to a builder with
+ * {@link #appendTo(ElementBuilderBase, String, Object, FragmentRenderer)}
+ * copies it directly into the builder's buffer.
+ * </p>
+ * 
+ * <p>
+ * The cache is thread safe. Fragments are rendered outside of the lock, so two
+ * threads that miss on the same key at the same time may both render it.
+ * </p>
+ * 
+ * <pre>
+ * private static final FragmentCache CACHE = new FragmentCache(1024 * 1024);
+ * 
+ * HtmlDivBuilder page = HtmlBuilderFactory.get().createDivBuilder();
+ * CACHE.appendTo(page, "menu", menu.getVersion(), new FragmentRenderer() {
+ *   public SafeHtml render(HtmlBuilderFactory factory) {
+ *     return renderMenu(factory, menu);
+ *   }
+ * });
+ * </pre>
+ */
+@GwtIncompatible("Encodes fragments with java.nio charsets")
+public class FragmentCache {
+
+  /**
+   * Renders a fragment on a cache miss.
+   */
+  public interface FragmentRenderer {
+
+    /**
+     * Render the fragment.
+     * 
+     * @param factory the factory used to create the builders of the fragment
+     * @return the HTML of the fragment
+     */
+    SafeHtml render(HtmlBuilderFactory factory);
+  }
+
+  /**
+   * A cached fragment.
+   */
+  private static class Fragment {
+    private final SafeHtml html;
+    private byte[] utf8;
+    private final Object version;
+
+    Fragment(Object version, SafeHtml html) {
+      this.version = version;
+      this.html = html;
+    }
+
+    int size() {
+      return html.asString().length() + (utf8 == null ? 0 : utf8.length);
+    }
+  }
+
+  private long evictionCount;
+  private long hitCount;
+
+  /**
+   * The cached fragments, in access order.
+   */
+  private final LinkedHashMap<String, Fragment> fragments =
+      new LinkedHashMap<String, Fragment>(16, 0.75f, true);
+
+  private final int maxSize;
+  private long missCount;
+  private int size;
+
+  /**
+   * Create a fragment cache.
+   * 
+   * @param maxSize the maximum number of characters and encoded bytes to cache
+   */
+  public FragmentCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Add a fragment as the next child of the current element of a builder
+   * created by an {@link HtmlBuilderFactory}, rendering it if it is not cached.
+   * 
+   * @param parent the builder of the element that contains the fragment
+   * @param key the key of the fragment
+   * @param version the version of the fragment, or null if it never changes
+   * @param renderer the renderer used on a cache miss
+   * @throws IllegalArgumentException if the parent does not build HTML, or adds
+   *           hydration markers that a cached fragment would not have
+   * @throws IllegalStateException if the current element of the parent cannot
+   *           have another child
+   */
+  public void appendTo(ElementBuilderBase<?> parent, String key, Object version,
+      FragmentRenderer renderer) {
+    HtmlBuilderImpl delegate = (parent instanceof HtmlElementBuilderBase)
+        ? ((HtmlElementBuilderBase<?>) parent).getDelegate() : null;
+    if (delegate == null || delegate.hasHydrationMarkers()) {
+      throw new IllegalArgumentException(
+          "Cached fragments can only be added to builders created by an HtmlBuilderFactory "
+              + "without hydration markers.");
+    }
+    delegate.appendTrustedChild(get(key, version, renderer));
+  }
+
+  /**
+   * Remove all fragments. The counters are not reset.
+   */
+  public synchronized void clear() {
+    fragments.clear();
+    size = 0;
+  }
+
+  /**
+   * Get a fragment, rendering it if it is not cached or if the cached fragment
+   * has a different version.
+   * 
+   * @param key the key of the fragment
+   * @param version the version of the fragment, or null if it never changes
+   * @param renderer the renderer used on a cache miss
+   * @return the HTML of the fragment
+   */
+  public SafeHtml get(String key, Object version, FragmentRenderer renderer) {
+    return getFragment(key, version, renderer).html;
+  }
+
+  /**
+   * Get the number of fragments evicted to stay within the maximum size.
+   */
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * Get the number of lookups that found a fragment with the same version.
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Get the number of lookups that had to render the fragment.
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Get the number of characters and encoded bytes currently cached.
+   */
+  public synchronized int getSize() {
+    return size;
+  }
+
+  /**
+   * Get the UTF-8 encoding of a fragment, rendering it if needed. The encoding
+   * is cached with the fragment, so it can be written to a byte sink without
+   * encoding it again. The returned array must not be modified.
+   * 
+   * @param key the key of the fragment
+   * @param version the version of the fragment, or null if it never changes
+   * @param renderer the renderer used on a cache miss
+   * @return the UTF-8 bytes of the fragment
+   */
+  public byte[] getUtf8(String key, Object version, FragmentRenderer renderer) {
+    Fragment fragment = getFragment(key, version, renderer);
+    byte[] utf8;
+    synchronized (this) {
+      utf8 = fragment.utf8;
+    }
+    if (utf8 != null) {
+      return utf8;
+    }
+
+    utf8 = fragment.html.asString().getBytes(StandardCharsets.UTF_8);
+    synchronized (this) {
+      if (fragment.utf8 == null && fragments.get(key) == fragment) {
+        fragment.utf8 = utf8;
+        size += utf8.length;
+        evict();
+      }
+    }
+    return utf8;
+  }
+
+  /**
+   * Remove a fragment.
+   * 
+   * @param key the key of the fragment
+   */
+  public synchronized void invalidate(String key) {
+    Fragment fragment = fragments.remove(key);
+    if (fragment != null) {
+      size -= fragment.size();
+    }
+  }
+
+  /**
+   * Evict the least recently used fragments until the cache is within its
+   * maximum size. Called with the lock held.
+   */
+  private void evict() {
+    Iterator<Fragment> it = fragments.values().iterator();
+    while (size > maxSize && it.hasNext()) {
+      size -= it.next().size();
+      it.remove();
+      evictionCount++;
+    }
+  }
+
+  /**
+   * Get a cached fragment, or render and cache it.
+   */
+  private Fragment getFragment(String key, Object version, FragmentRenderer renderer) {
+    synchronized (this) {
+      Fragment fragment = fragments.get(key);
+      if (fragment != null && Objects.equals(fragment.version, version)) {
+        hitCount++;
+        return fragment;
+      }
+      missCount++;
+    }
+
+    Fragment rendered = new Fragment(version, renderer.render(HtmlBuilderFactory.get()));
+    synchronized (this) {
+      Fragment old = fragments.put(key, rendered);
+      if (old != null) {
+        size -= old.size();
+      }
+      size += rendered.size();
+      evict();
+    }
+    return rendered;
+  }
+}
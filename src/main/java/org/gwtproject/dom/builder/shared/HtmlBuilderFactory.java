@@ -21,7 +21,12 @@ package org.gwtproject.dom.builder.shared;
  */
 public class HtmlBuilderFactory extends ElementBuilderFactory {
 
-  private static HtmlBuilderFactory instance;
+  /**
+   * Holds the instance, which is created when the holder class is initialized.
+   */
+  private static class InstanceHolder {
+    private static final HtmlBuilderFactory INSTANCE = new HtmlBuilderFactory();
+  }
 
   /**
    * Get the instance of the {@link HtmlBuilderFactory}.
@@ -34,13 +39,16 @@ public class HtmlBuilderFactory extends ElementBuilderFactory {
    * string, such as when you are building HTML on a server.
    * </p>
    * 
+   * <p>
+   * Every builder returned from this factory allocates a new output buffer.
+   * Servers that render many small fragments can use
+   * {@link PooledHtmlBuilderFactory} to recycle the buffers instead.
+   * </p>
+   * 
    * @return the {@link ElementBuilderFactory}
    */
   public static HtmlBuilderFactory get() {
-    if (instance == null) {
-      instance = new HtmlBuilderFactory();
-    }
-    return instance;
+    return InstanceHolder.INSTANCE;
   }
 
   /**
@@ -398,7 +406,11 @@ public class HtmlBuilderFactory extends ElementBuilderFactory {
     return impl().trustedStart(tagName);
   }
 
-  private HtmlBuilderImpl impl() {
+  /**
+   * Get the {@link HtmlBuilderImpl} used to build a new element. Subclasses may
+   * override this method to supply recycled instances.
+   */
+  HtmlBuilderImpl impl() {
     return new HtmlBuilderImpl();
   }
 }
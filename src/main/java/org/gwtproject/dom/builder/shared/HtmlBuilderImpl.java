@@ -19,6 +19,7 @@ import org.gwtproject.safecss.shared.SafeStyles;
 import org.gwtproject.safehtml.shared.SafeHtml;
 import org.gwtproject.safehtml.shared.SafeHtmlUtils;
 import org.gwtproject.dom.client.*;
+import org.gwtproject.dom.style.shared.Unit;
 
 /**
  * Implementation of methods in {@link ElementBuilderBase} used to render HTML
@@ -26,6 +27,73 @@ import org.gwtproject.dom.client.*;
  */
 class HtmlBuilderImpl extends ElementBuilderImpl {
 
+  /**
+   * The entity used to escape each character, indexed by character. Only the
+   * characters escaped by {@link SafeHtmlUtils#htmlEscape(String)} have an
+   * entity.
+   */
+  private static final String[] ESCAPES = new String['>' + 1];
+
+  /**
+   * The template used to parse HTML by {@link #parse(SafeHtml)}. It is created
+   * on first use and reused, as the DOM is only used from the browser's single
+   * thread.
+   */
+  private static TemplateElement parseContainer;
+
+  static {
+    ESCAPES['&'] = "&amp;";
+    ESCAPES['<'] = "&lt;";
+    ESCAPES['>'] = "&gt;";
+    ESCAPES['"'] = "&quot;";
+    ESCAPES['\''] = "&#39;";
+  }
+
+  /**
+   * Escape a string and append it to a buffer. The string is scanned once, and
+   * the runs of characters between escaped characters are copied directly into
+   * the buffer without creating an intermediate string.
+   * 
+   * @param sb the buffer to append to
+   * @param s the string to escape
+   */
+  static void appendEscaped(StringBuilder sb, String s) {
+    int length = s.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      char c = s.charAt(i);
+      if (isEscaped(c)) {
+        sb.append(s, start, i).append(ESCAPES[c]);
+        start = i + 1;
+      }
+    }
+    if (start == 0) {
+      // Nothing was escaped.
+      sb.append(s);
+    } else {
+      sb.append(s, start, length);
+    }
+  }
+
+  /**
+   * Parse HTML in a template element that is created on first use and reused.
+   * The content of a template accepts any element at the top level, so
+   * elements such as tr, td and option are kept instead of being dropped as
+   * they are when parsed in a div. The content is inert until it is added to
+   * the document. The parsed nodes must be moved out of the content before the
+   * next call, which leaves the template empty.
+   * 
+   * @param html the HTML to parse
+   * @return the content of the template, holding the parsed nodes
+   */
+  static DocumentFragment parse(SafeHtml html) {
+    if (parseContainer == null) {
+      parseContainer = Document.get().createTemplateElement();
+    }
+    parseContainer.setInnerSafeHtml(html);
+    return parseContainer.getContent();
+  }
+
   /*
    * Common element builders, and those most likely to appear in a loop, are
    * created on initialization to avoid null checks. Less common element
@@ -89,12 +157,50 @@ class HtmlBuilderImpl extends ElementBuilderImpl {
    * rudimentary checks that the HTML tags are complete. Instead, we escape
    * values before appending them.
    */
-  private final StringBuilder sb = new StringBuilder();
+  private final StringBuilder sb;
+
+  /**
+   * The index of the next element in document order, or -1 if hydration
+   * markers are disabled.
+   */
+  private int nextHydrationIndex = -1;
+
+  /**
+   * Construct a builder that checks its state on each call.
+   */
+  HtmlBuilderImpl() {
+    this(new StringBuilder());
+  }
+
+  /**
+   * Construct a builder.
+   * 
+   * @param isChecked true to check the state on each call, false to skip the
+   *          checks
+   * @see UncheckedHtmlBuilderFactory
+   */
+  HtmlBuilderImpl(boolean isChecked) {
+    super(isChecked);
+    sb = new StringBuilder();
+  }
+
+  /**
+   * Construct a builder that checks its state on each call and writes to the
+   * specified buffer.
+   * 
+   * @param sb the empty output buffer
+   * @see PooledHtmlBuilderFactory
+   */
+  HtmlBuilderImpl(StringBuilder sb) {
+    this.sb = sb;
+  }
 
   /**
    * Return the HTML as a {@link SafeHtml} string.
    */
   public SafeHtml asSafeHtml() {
+    long start = startFinishTimer();
+
     // End all open tags.
     endAllTags();
 
@@ -102,7 +208,9 @@ class HtmlBuilderImpl extends ElementBuilderImpl {
      * sb is trusted because we only append trusted strings or escaped strings
      * to it.
      */
-    return SafeHtmlUtils.fromTrustedString(sb.toString());
+    SafeHtml html = SafeHtmlUtils.fromTrustedString(sb.toString());
+    stopFinishTimer(start);
+    return html;
   }
 
   public void attribute(String name, int value) {
@@ -555,9 +663,32 @@ class HtmlBuilderImpl extends ElementBuilderImpl {
     return stylesBuilder;
   }
 
+  /**
+   * Add a style property. The property is HTML escaped like any other attribute
+   * value, which does not change the style of the parsed element.
+   * 
+   * @param style the property, which is not checked
+   */
   public StylesBuilder styleProperty(SafeStyles style) {
     assertCanAddStylePropertyImpl();
-    sb.append(style.asString());
+    // Style properties are counted separately from escaped values.
+    appendEscaped(sb, style.asString());
+    return style();
+  }
+
+  /**
+   * Add a numeric style property, formatted with {@link CssNumberFormat}
+   * directly into the buffer.
+   * 
+   * @param name the hyphenated name of the property, which is not checked
+   * @param value the value
+   * @param unit the unit of the value
+   */
+  StylesBuilder styleProperty(String name, double value, Unit unit) {
+    assertCanAddStylePropertyImpl();
+    appendEscaped(sb, name);
+    sb.append(':');
+    CssNumberFormat.append(sb, value).append(unit.getType()).append(';');
     return style();
   }
 
@@ -575,10 +706,13 @@ class HtmlBuilderImpl extends ElementBuilderImpl {
    */
   public void trustedAttribute(String name, String value) {
     assertCanAddAttributeImpl();
-    sb.append(" ").append(name).append("=\"").append(escape(value)).append("\"");
+    sb.append(" ").append(name).append("=\"");
+    appendEscapedValue(value);
+    sb.append("\"");
   }
 
   public HtmlElementBuilder trustedStart(String tagName) {
+    assertValidTagName(tagName);
     trustedStart(tagName, elementBuilder);
     return elementBuilder;
   }
@@ -615,9 +749,9 @@ class HtmlBuilderImpl extends ElementBuilderImpl {
 
   @Override
   protected Element doFinishImpl() {
-    Element tmp = Document.get().createDivElement();
-    tmp.setInnerSafeHtml(asSafeHtml());
-    return tmp.getFirstChildElement();
+    Element element = Element.as(parse(asSafeHtml()).getFirstChild());
+    element.removeFromParent();
+    return element;
   }
 
   @Override
@@ -632,16 +766,132 @@ class HtmlBuilderImpl extends ElementBuilderImpl {
 
   @Override
   protected void doTextImpl(String text) {
-    sb.append(escape(text));
+    appendEscapedValue(text);
+  }
+
+  @Override
+  protected int getOutputLength() {
+    return length();
   }
 
   /**
-   * Escape a string.
+   * Get the output buffer. Subclasses that stream their output drain it as
+   * elements are completed.
+   */
+  StringBuilder buffer() {
+    return sb;
+  }
+
+  @Override
+  protected boolean appendTemplate(ElementTemplate template, Object[] args) {
+    if (hasHydrationMarkers()) {
+      // Replay the calls so that each element gets a marker.
+      return false;
+    }
+    onTrustedChild();
+    template.render(sb, args);
+    return true;
+  }
+
+  /**
+   * Add trusted HTML, such as a cached fragment, as a child of the current
+   * element.
+   * 
+   * @param html the HTML of the child
+   */
+  void appendTrustedChild(SafeHtml html) {
+    onTrustedChild();
+    sb.append(html.asString());
+  }
+
+  /**
+   * Get the number of characters the output buffer can hold without growing.
+   */
+  int capacity() {
+    return sb.capacity();
+  }
+
+  /**
+   * Grow the output buffer, if needed, so it can hold at least the specified
+   * number of characters without growing again.
+   * 
+   * @param minimumCapacity the expected length of the HTML
+   */
+  void ensureCapacity(int minimumCapacity) {
+    sb.ensureCapacity(minimumCapacity);
+  }
+
+  /**
+   * Add a hydration marker to each element started from now on. The marker is
+   * the index of the element in document order, starting at 0 for the top
+   * level element.
+   * 
+   * @see HydrationHtmlBuilderFactory
+   */
+  void enableHydrationMarkers() {
+    nextHydrationIndex = 0;
+  }
+
+  /**
+   * Check if hydration markers are added to each element.
+   */
+  boolean hasHydrationMarkers() {
+    return nextHydrationIndex >= 0;
+  }
+
+  /**
+   * Get the number of characters of HTML built so far.
+   */
+  int length() {
+    return sb.length();
+  }
+
+  /**
+   * Escape a string and append it to the buffer, recording the escape in the
+   * metrics if they are enabled.
+   * 
+   * @param s the string to escape
+   */
+  private void appendEscapedValue(String s) {
+    BuilderMetrics metrics = getMetrics();
+    if (metrics != null) {
+      metrics.onEscape(countEscaped(s));
+    }
+    appendEscaped(sb, s);
+  }
+
+  /**
+   * Count the characters of a string that must be escaped.
+   */
+  private static int countEscaped(String s) {
+    int count = 0;
+    for (int i = 0, length = s.length(); i < length; i++) {
+      if (isEscaped(s.charAt(i))) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Escape a string. The string is returned as is if nothing needs escaping.
    * 
    * @param s the string to escape
    */
   private String escape(String s) {
-    return SafeHtmlUtils.htmlEscape(s);
+    for (int i = 0, length = s.length(); i < length; i++) {
+      if (isEscaped(s.charAt(i))) {
+        return SafeHtmlUtils.htmlEscape(s);
+      }
+    }
+    return s;
+  }
+
+  /**
+   * Check if a character must be escaped.
+   */
+  private static boolean isEscaped(char c) {
+    return c < ESCAPES.length && ESCAPES[c] != null;
   }
 
   /**
@@ -703,7 +953,11 @@ class HtmlBuilderImpl extends ElementBuilderImpl {
    * escaped.
    */
   private void trustedStart(String tagName, ElementBuilderBase<?> builder) {
-    onStart(tagName, builder);
+    onBuiltInStart(tagName, builder);
     sb.append("<").append(tagName);
+    if (nextHydrationIndex >= 0) {
+      sb.append(" ").append(HydrationHtmlBuilderFactory.MARKER_ATTRIBUTE).append("=\"");
+      sb.append(nextHydrationIndex++).append("\"");
+    }
   }
 }
@@ -66,6 +66,20 @@ public class HtmlElementBuilderBase<R extends ElementBuilderBase<?>> extends
     return delegate.asSafeHtml();
   }
 
+  /**
+   * Get the number of characters of HTML written so far. The end tags of
+   * elements that are still open are not written until the elements are ended,
+   * so they are not counted. Once every element is ended, this is the length
+   * of {@link #asSafeHtml()}, and can be used to size a buffer for the result
+   * before that call, since builders from a {@link PooledHtmlBuilderFactory}
+   * cannot be used after it.
+   * 
+   * @return the length of the HTML written so far
+   */
+  public int getLength() {
+    return delegate.length();
+  }
+
   @Override
   public R attribute(String name, int value) {
     delegate.attribute(name, value);
@@ -476,6 +490,13 @@ public class HtmlElementBuilderBase<R extends ElementBuilderBase<?>> extends
     return delegate.trustedStart(tagName);
   }
 
+  /**
+   * Get the {@link HtmlBuilderImpl} that builds the element.
+   */
+  HtmlBuilderImpl getDelegate() {
+    return delegate;
+  }
+
   /**
    * Add an attribute with a trusted name.
    */
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.dom.client.Document;
+import org.gwtproject.dom.client.DocumentFragment;
+import org.gwtproject.dom.client.Element;
+import org.gwtproject.safehtml.shared.SafeHtml;
+
+/**
+ * Builds a list of top level elements into a single HTML string, so that they
+ * can be parsed and inserted into the document at once.
+ * 
+ * <p>
+ * A builder created by an {@link HtmlBuilderFactory} can only build one top
+ * level element, and finishing each one parses its HTML separately. A fragment
+ * builder is a factory whose builders all write to the same output: each call
+ * to a <code>createXxxBuilder()</code> method ends the previous top level
+ * element and starts the next one after it. The whole list is then parsed
+ * once by {@link #finish()}, or inserted into an element by
+ * {@link #appendTo(Element)}.
+ * </p>
+ * 
+ * <pre>
+ * HtmlFragmentBuilder fragment = HtmlFragmentBuilder.create();
+ * for (Item item : items) {
+ *   fragment.createLIBuilder().className("item").text(item.getName()).endLI();
+ * }
+ * fragment.appendTo(list);
+ * </pre>
+ * 
+ * <p>
+ * The HTML of the whole fragment is returned by {@link #asSafeHtml()}, so a
+ * fragment builder can also be used on a server. Do not call
+ * <code>asSafeHtml()</code> or <code>finish()</code> on the builders of the
+ * individual elements.
+ * </p>
+ */
+public class HtmlFragmentBuilder extends HtmlBuilderFactory {
+
+  /**
+   * An {@link HtmlBuilderImpl} that builds the children of an element of
+   * another builder implementation. Once all of its elements are ended, calls
+   * that start or end an element act on the parent element.
+   */
+  private static class ChildHtmlBuilderImpl extends HtmlBuilderImpl {
+
+    private final ElementBuilderImpl parent;
+    private boolean isFinished;
+
+    ChildHtmlBuilderImpl(ElementBuilderImpl parent) {
+      this.parent = parent;
+    }
+
+    @Override
+    public SafeHtml asSafeHtml() {
+      isFinished = true;
+      return super.asSafeHtml();
+    }
+
+    @Override
+    public void end() {
+      if (getDepth() == 0) {
+        parent.end();
+      } else {
+        super.end();
+      }
+    }
+
+    @Override
+    public void end(String tagName) {
+      if (getDepth() == 0) {
+        parent.end(tagName);
+      } else {
+        super.end(tagName);
+      }
+    }
+
+    @Override
+    public void onStart(String tagName, ElementBuilderBase<?> builder) {
+      maybeStartChild();
+      super.onStart(tagName, builder);
+    }
+
+    @Override
+    protected void onBuiltInStart(String tagName, ElementBuilderBase<?> builder) {
+      maybeStartChild();
+      super.onBuiltInStart(tagName, builder);
+    }
+
+    /**
+     * Add the next top level element as a child of the parent element if no
+     * element is open.
+     * 
+     * @throws IllegalStateException if the parent element has been ended
+     */
+    private void maybeStartChild() {
+      if (getDepth() > 0) {
+        return;
+      }
+      if (isFinished) {
+        throw new IllegalStateException("The parent element has already been ended.");
+      }
+      parent.onTrustedChild();
+      allowNextRoot();
+    }
+  }
+
+  /**
+   * Create a fragment builder that checks its state on each call.
+   * 
+   * @return the {@link HtmlFragmentBuilder}
+   */
+  public static HtmlFragmentBuilder create() {
+    return create(HtmlBuilderFactory.get());
+  }
+
+  /**
+   * Create a fragment builder that uses the builder implementation of another
+   * factory, either the {@link HtmlBuilderFactory} or the
+   * {@link UncheckedHtmlBuilderFactory}. Other factories, such as those that
+   * stream their output to a sink or recycle their builders, do not keep the
+   * HTML of the fragment in the builder.
+   * 
+   * @param factory the factory that supplies the builder implementation
+   * @return the {@link HtmlFragmentBuilder}
+   * @throws IllegalArgumentException if the factory is not supported
+   */
+  public static HtmlFragmentBuilder create(HtmlBuilderFactory factory) {
+    if (factory.getClass() != HtmlBuilderFactory.class
+        && !(factory instanceof UncheckedHtmlBuilderFactory)) {
+      throw new IllegalArgumentException(
+          "Fragments can only be built by the HtmlBuilderFactory or the "
+              + "UncheckedHtmlBuilderFactory.");
+    }
+    return new HtmlFragmentBuilder(factory.impl(), false);
+  }
+
+  /**
+   * Create a fragment builder that builds the children of the current element
+   * of another builder implementation, such as an element created with DOM
+   * manipulation.
+   * 
+   * <p>
+   * The <code>createXxxBuilder()</code> methods start a child of the innermost
+   * open element of the fragment, or the next top level element if none is
+   * open. Once all of the top level elements are ended, the builders of the
+   * fragment end the parent element, and the next top level element is
+   * checked against the parent element, so the fragment and the parent behave
+   * as a single builder.
+   * </p>
+   * 
+   * @param parent the builder implementation of the parent element
+   * @return the {@link HtmlFragmentBuilder}
+   */
+  public static HtmlFragmentBuilder createChildren(ElementBuilderImpl parent) {
+    return new HtmlFragmentBuilder(new ChildHtmlBuilderImpl(parent), true);
+  }
+
+  private final HtmlBuilderImpl delegate;
+
+  /**
+   * True if a new element is started as a child of the innermost open element.
+   */
+  private final boolean isNested;
+
+  /**
+   * Created from static factory method.
+   */
+  private HtmlFragmentBuilder(HtmlBuilderImpl delegate, boolean isNested) {
+    this.delegate = delegate;
+    this.isNested = isNested;
+  }
+
+  /**
+   * Parse the fragment and append its elements to the end of an element.
+   * 
+   * @param parent the element to append to
+   */
+  public void appendTo(Element parent) {
+    // Appending the content of the template moves all of the parsed nodes.
+    parent.appendChild(HtmlBuilderImpl.parse(asSafeHtml()));
+  }
+
+  /**
+   * End the last top level element and return the HTML of all of them.
+   * 
+   * @return the HTML as a {@link SafeHtml} string
+   */
+  public SafeHtml asSafeHtml() {
+    return delegate.asSafeHtml();
+  }
+
+  /**
+   * Parse the fragment into a {@link DocumentFragment}. The HTML is parsed
+   * once, in the template element reused by the HTML builders, so top level
+   * elements that are only valid in a specific parent, such as table rows, are
+   * kept.
+   * 
+   * @return a {@link DocumentFragment} holding the top level elements
+   */
+  public DocumentFragment finish() {
+    DocumentFragment fragment = Document.get().createDocumentFragment();
+    fragment.appendChild(HtmlBuilderImpl.parse(asSafeHtml()));
+    return fragment;
+  }
+
+  /**
+   * Get the number of characters of HTML written so far. The end tags of
+   * elements that are still open are not counted.
+   */
+  public int getLength() {
+    return delegate.length();
+  }
+
+  /**
+   * Get the builder of the innermost open element. Its methods act on that
+   * element, like those of every builder of the element's ancestors.
+   * 
+   * @return the builder, or null if all of the top level elements are ended
+   */
+  public ElementBuilderBase<?> getOpenBuilder() {
+    return (delegate.getDepth() == 0) ? null : delegate.getCurrentBuilder();
+  }
+
+  @Override
+  HtmlBuilderImpl impl() {
+    if (!isNested) {
+      delegate.allowNextRoot();
+    }
+    return delegate;
+  }
+}
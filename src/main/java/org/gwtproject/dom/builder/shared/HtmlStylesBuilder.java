@@ -15,17 +15,13 @@
  */
 package org.gwtproject.dom.builder.shared;
 
+import org.gwtproject.dom.client.CssPropertyNames;
 import org.gwtproject.dom.style.shared.*;
 import org.gwtproject.dom.style.shared.Float;
-import org.gwtproject.regexp.shared.MatchResult;
-import org.gwtproject.regexp.shared.RegExp;
 import org.gwtproject.safecss.shared.SafeStylesUtils;
 import org.gwtproject.safehtml.shared.SafeUri;
 import org.gwtproject.safehtml.shared.annotations.IsSafeUri;
 
-import java.util.HashMap;
-import java.util.Locale;
-import java.util.Map;
 
 /**
  * Builds the style object.
@@ -33,74 +29,16 @@ import java.util.Map;
 class HtmlStylesBuilder implements StylesBuilder {
 
   /**
-   * A map of camelCase style properties to their hyphenated equivalents.
-   * 
-   * The set of style property names is limited, and common ones are reused
-   * frequently, so caching saves us from converting every style property name
-   * from camelCase to hyphenated form.
-   */
-  private static Map<String, String> camelCaseMap;
-
-  /**
-   * Regex to match a word in a camelCase phrase. A word starts with an
-   * uppercase or lowercase letter, followed by zero or more non-uppercase
-   * letters. For example, in the camelCase phrase backgroundUrl, the pattern
-   * matches "background" and "Url".
-   * 
-   * This pattern is not used to validate the style property name.
-   * {@link SafeStylesUtils} performs a more detailed check.
-   */
-  private static RegExp camelCaseWord;
-
-  /**
-   * Regex to match a word that starts with an uppercase letter.
-   */
-  private static RegExp caseWord;
-
-  /**
-   * Convert a camelCase or hyphenated string to a hyphenated string.
+   * Convert a camelCase or hyphenated string to a hyphenated string, the same
+   * way as the DOM builder.
    * 
    * @param name the camelCase or hyphenated string to convert
    * @return the hyphenated string
+   * @see CssPropertyNames#toHyphenatedForm(String)
    */
   // Visible for testing
   static String toHyphenatedForm(String name) {
-    // Static initializers.
-    if (camelCaseWord == null) {
-      camelCaseMap = new HashMap<String, String>();
-      camelCaseWord = RegExp.compile("([A-Za-z])([^A-Z]*)", "g");
-      caseWord = RegExp.compile("[A-Z]([^A-Z]*)");
-    }
-
-    // Early exit if already in hyphenated form.
-    if (name.contains("-")) {
-      return name;
-    }
-
-    // Check for the name in the cache.
-    String hyphenated = camelCaseMap.get(name);
-
-    // Convert the name to hyphenated format if not in the cache.
-    if (hyphenated == null) {
-      hyphenated = "";
-      MatchResult matches;
-      while ((matches = camelCaseWord.exec(name)) != null) {
-        String word = matches.getGroup(0);
-        if (caseWord.exec(word) == null) {
-          // The first letter is already lowercase, probably the first word.
-          hyphenated += word;
-        } else {
-          // Hyphenate the first letter.
-          hyphenated += "-" + matches.getGroup(1).toLowerCase(Locale.ROOT);
-          if (matches.getGroupCount() > 1) {
-            hyphenated += matches.getGroup(2);
-          }
-        }
-      }
-      camelCaseMap.put(name, hyphenated);
-    }
-
-    return hyphenated;
+    return CssPropertyNames.toHyphenatedForm(name);
   }
 
   private final HtmlBuilderImpl delegate;
@@ -126,12 +64,12 @@ class HtmlStylesBuilder implements StylesBuilder {
 
   @Override
   public StylesBuilder borderWidth(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("border-width", value + unit.getType()));
+    return delegate.styleProperty("border-width", value, unit);
   }
 
   @Override
   public StylesBuilder bottom(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("bottom", value + unit.getType()));
+    return delegate.styleProperty("bottom", value, unit);
   }
 
   @Override
@@ -156,7 +94,7 @@ class HtmlStylesBuilder implements StylesBuilder {
 
   @Override
   public StylesBuilder fontSize(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("font-size", value + unit.getType()));
+    return delegate.styleProperty("font-size", value, unit);
   }
 
   @Override
@@ -171,17 +109,17 @@ class HtmlStylesBuilder implements StylesBuilder {
 
   @Override
   public StylesBuilder height(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("height", value + unit.getType()));
+    return delegate.styleProperty("height", value, unit);
   }
 
   @Override
   public StylesBuilder left(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("left", value + unit.getType()));
+    return delegate.styleProperty("left", value, unit);
   }
 
   @Override
   public StylesBuilder lineHeight(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("line-height", value + unit.getType()));
+    return delegate.styleProperty("line-height", value, unit);
   }
 
   @Override
@@ -191,27 +129,27 @@ class HtmlStylesBuilder implements StylesBuilder {
 
   @Override
   public StylesBuilder margin(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("margin", value + unit.getType()));
+    return delegate.styleProperty("margin", value, unit);
   }
 
   @Override
   public StylesBuilder marginBottom(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("margin-bottom", value + unit.getType()));
+    return delegate.styleProperty("margin-bottom", value, unit);
   }
 
   @Override
   public StylesBuilder marginLeft(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("margin-left", value + unit.getType()));
+    return delegate.styleProperty("margin-left", value, unit);
   }
 
   @Override
   public StylesBuilder marginRight(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("margin-right", value + unit.getType()));
+    return delegate.styleProperty("margin-right", value, unit);
   }
 
   @Override
   public StylesBuilder marginTop(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("margin-top", value + unit.getType()));
+    return delegate.styleProperty("margin-top", value, unit);
   }
 
   @Override
@@ -226,7 +164,7 @@ class HtmlStylesBuilder implements StylesBuilder {
 
   @Override
   public StylesBuilder outlineWidth(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("outline-width", value + unit.getType()));
+    return delegate.styleProperty("outline-width", value, unit);
   }
 
   @Override
@@ -246,27 +184,27 @@ class HtmlStylesBuilder implements StylesBuilder {
 
   @Override
   public StylesBuilder padding(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("padding", value + unit.getType()));
+    return delegate.styleProperty("padding", value, unit);
   }
 
   @Override
   public StylesBuilder paddingBottom(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("padding-bottom", value + unit.getType()));
+    return delegate.styleProperty("padding-bottom", value, unit);
   }
 
   @Override
   public StylesBuilder paddingLeft(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("padding-left", value + unit.getType()));
+    return delegate.styleProperty("padding-left", value, unit);
   }
 
   @Override
   public StylesBuilder paddingRight(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("padding-right", value + unit.getType()));
+    return delegate.styleProperty("padding-right", value, unit);
   }
 
   @Override
   public StylesBuilder paddingTop(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("padding-top", value + unit.getType()));
+    return delegate.styleProperty("padding-top", value, unit);
   }
 
   @Override
@@ -276,7 +214,7 @@ class HtmlStylesBuilder implements StylesBuilder {
 
   @Override
   public StylesBuilder right(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("right", value + unit.getType()));
+    return delegate.styleProperty("right", value, unit);
   }
 
   @Override
@@ -296,7 +234,7 @@ class HtmlStylesBuilder implements StylesBuilder {
 
   @Override
   public StylesBuilder textIndent(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("text-indent", value + unit.getType()));
+    return delegate.styleProperty("text-indent", value, unit);
   }
 
   @Override
@@ -316,7 +254,7 @@ class HtmlStylesBuilder implements StylesBuilder {
 
   @Override
   public StylesBuilder top(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("top", value + unit.getType()));
+    return delegate.styleProperty("top", value, unit);
   }
 
   @Override
@@ -347,7 +285,7 @@ class HtmlStylesBuilder implements StylesBuilder {
   @Override
   public StylesBuilder trustedProperty(String name, double value, Unit unit) {
     name = toHyphenatedForm(name);
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue(name, value + unit.getType()));
+    return delegate.styleProperty(name, value, unit);
   }
 
   @Override
@@ -358,7 +296,7 @@ class HtmlStylesBuilder implements StylesBuilder {
 
   @Override
   public StylesBuilder verticalAlign(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("vertical-align", value + unit.getType()));
+    return delegate.styleProperty("vertical-align", value, unit);
   }
 
   @Override
@@ -373,7 +311,7 @@ class HtmlStylesBuilder implements StylesBuilder {
 
   @Override
   public StylesBuilder width(double value, Unit unit) {
-    return delegate.styleProperty(SafeStylesUtils.fromTrustedNameAndValue("width", value + unit.getType()));
+    return delegate.styleProperty("width", value, unit);
   }
 
   @Override
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+/**
+ * An {@link HtmlBuilderFactory} whose builders add a hydration marker to each
+ * element, so that a client can adopt the rendered HTML instead of building
+ * the same elements again.
+ * 
+ * <p>
+ * The marker is a {@value #MARKER_ATTRIBUTE} attribute holding the index of
+ * the element in document order, starting at 0 for the top level element. Only
+ * elements started with the builder API are marked; HTML added with
+ * <code>html()</code> is not. On the client, the same builder calls made
+ * through the factory returned by
+ * {@link org.gwtproject.dom.builder.client.DomBuilderFactory#hydrate(org.gwtproject.dom.client.Element)}
+ * bind to the marked elements in the same order.
+ * </p>
+ * 
+ * <pre>
+ * // Server
+ * SafeHtml html = renderView(HydrationHtmlBuilderFactory.get());
+ * 
+ * // Client
+ * Element root = Document.get().getElementById("view").getFirstChildElement();
+ * Element view = renderView(DomBuilderFactory.hydrate(root));
+ * </pre>
+ */
+public class HydrationHtmlBuilderFactory extends HtmlBuilderFactory {
+
+  /**
+   * The name of the attribute that holds the hydration marker.
+   */
+  public static final String MARKER_ATTRIBUTE = "data-h";
+
+  /**
+   * Holds the instance, which is created when the holder class is initialized.
+   */
+  private static class InstanceHolder {
+    private static final HydrationHtmlBuilderFactory INSTANCE = new HydrationHtmlBuilderFactory();
+  }
+
+  /**
+   * Get the instance of the {@link HydrationHtmlBuilderFactory}.
+   * 
+   * @return the {@link HydrationHtmlBuilderFactory}
+   */
+  public static HydrationHtmlBuilderFactory get() {
+    return InstanceHolder.INSTANCE;
+  }
+
+  /**
+   * Created from static factory method.
+   */
+  protected HydrationHtmlBuilderFactory() {
+  }
+
+  @Override
+  HtmlBuilderImpl impl() {
+    HtmlBuilderImpl impl = new HtmlBuilderImpl();
+    impl.enableHydrationMarkers();
+    return impl;
+  }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.dom.client.Element;
+import org.gwtproject.safehtml.shared.SafeHtml;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * An {@link HtmlBuilderFactory} that recycles the output buffers of its
+ * builders instead of allocating and growing a new buffer for every fragment.
+ * 
+ * <p>
+ * A builder returns its buffer to the pool as soon as
+ * {@link HtmlElementBuilderBase#asSafeHtml()} (or
+ * {@link ElementBuilderBase#finish()}) is called on it, and is released. Any
+ * later call on a released builder, or on one of its child builders, throws an
+ * {@link IllegalStateException}, since the buffer may already be in use by a
+ * builder from a later <code>createXxxBuilder()</code> call. Builders that are
+ * abandoned without calling <code>asSafeHtml()</code> are simply garbage
+ * collected, along with their buffer.
+ * </p>
+ * 
+ * <pre>
+ * private static final PooledHtmlBuilderFactory FACTORY = PooledHtmlBuilderFactory.perThread();
+ * 
+ * SafeHtml renderCell(String value) {
+ *   HtmlTableCellBuilder td = FACTORY.createTDBuilder();
+ *   td.text(value);
+ *   return td.asSafeHtml();
+ * }
+ * </pre>
+ */
+@GwtIncompatible("Uses ThreadLocal and java.util.concurrent")
+public abstract class PooledHtmlBuilderFactory extends HtmlBuilderFactory {
+
+  /**
+   * The default number of idle buffers kept by a pool.
+   */
+  public static final int DEFAULT_MAX_IDLE = 16;
+
+  /**
+   * The default capacity above which the buffer of a released builder is
+   * discarded instead of being kept in the pool, so that one very large render does not
+   * pin its buffer for the lifetime of the pool.
+   */
+  public static final int DEFAULT_MAX_RETAINED_CAPACITY = 64 * 1024;
+
+  /**
+   * A factory that keeps a separate pool of idle buffers for each thread.
+   */
+  private static class PerThreadFactory extends PooledHtmlBuilderFactory {
+
+    private final ThreadLocal<ArrayDeque<StringBuilder>> idle =
+        new ThreadLocal<ArrayDeque<StringBuilder>>() {
+          @Override
+          protected ArrayDeque<StringBuilder> initialValue() {
+            return new ArrayDeque<StringBuilder>();
+          }
+        };
+
+    private final int maxIdle;
+
+    PerThreadFactory(int maxIdle, int maxRetainedCapacity) {
+      super(maxRetainedCapacity);
+      this.maxIdle = maxIdle;
+    }
+
+    @Override
+    StringBuilder poll() {
+      return idle.get().pollFirst();
+    }
+
+    @Override
+    void offer(StringBuilder buffer) {
+      ArrayDeque<StringBuilder> deque = idle.get();
+      if (deque.size() < maxIdle) {
+        deque.addFirst(buffer);
+      }
+    }
+  }
+
+  /**
+   * A factory that shares one bounded pool of idle buffers between all
+   * threads.
+   */
+  private static class BoundedFactory extends PooledHtmlBuilderFactory {
+
+    private final ArrayBlockingQueue<StringBuilder> idle;
+
+    BoundedFactory(int maxIdle, int maxRetainedCapacity) {
+      super(maxRetainedCapacity);
+      this.idle = new ArrayBlockingQueue<StringBuilder>(maxIdle);
+    }
+
+    @Override
+    StringBuilder poll() {
+      return idle.poll();
+    }
+
+    @Override
+    void offer(StringBuilder buffer) {
+      idle.offer(buffer);
+    }
+  }
+
+  /**
+   * An {@link HtmlBuilderImpl} that writes to a buffer borrowed from its
+   * factory, and returns the buffer once the HTML has been retrieved. The
+   * builder itself is never reused, so it can reject every call made after
+   * that.
+   */
+  private static class PooledHtmlBuilderImpl extends HtmlBuilderImpl {
+
+    private final PooledHtmlBuilderFactory factory;
+    private boolean isReleased;
+
+    PooledHtmlBuilderImpl(PooledHtmlBuilderFactory factory, StringBuilder buffer) {
+      super(buffer);
+      this.factory = factory;
+    }
+
+    @Override
+    public SafeHtml asSafeHtml() {
+      assertNotReleased();
+      SafeHtml html = super.asSafeHtml();
+      isReleased = true;
+      factory.release(buffer());
+      return html;
+    }
+
+    @Override
+    public void end() {
+      assertNotReleased();
+      super.end();
+    }
+
+    @Override
+    public void end(String tagName) {
+      assertNotReleased();
+      super.end(tagName);
+    }
+
+    @Override
+    public void endStyle() {
+      assertNotReleased();
+      super.endStyle();
+    }
+
+    @Override
+    public Element finish() {
+      assertNotReleased();
+      return super.finish();
+    }
+
+    @Override
+    public void html(SafeHtml html) {
+      assertNotReleased();
+      super.html(html);
+    }
+
+    @Override
+    public void onStart(String tagName, ElementBuilderBase<?> builder) {
+      assertNotReleased();
+      super.onStart(tagName, builder);
+    }
+
+    @Override
+    public void text(String text) {
+      assertNotReleased();
+      super.text(text);
+    }
+
+    @Override
+    protected void assertCanAddAttributeImpl() {
+      assertNotReleased();
+      super.assertCanAddAttributeImpl();
+    }
+
+    @Override
+    protected void assertCanAddStylePropertyImpl() {
+      assertNotReleased();
+      super.assertCanAddStylePropertyImpl();
+    }
+
+    @Override
+    protected void onBuiltInStart(String tagName, ElementBuilderBase<?> builder) {
+      assertNotReleased();
+      super.onBuiltInStart(tagName, builder);
+    }
+
+    @Override
+    protected void onTrustedChild() {
+      assertNotReleased();
+      super.onTrustedChild();
+    }
+
+    @Override
+    int length() {
+      assertNotReleased();
+      return super.length();
+    }
+
+    /**
+     * Assert that the buffer has not been returned to the pool.
+     * 
+     * @throws IllegalStateException if the HTML has already been retrieved
+     */
+    private void assertNotReleased() {
+      if (isReleased) {
+        throw new IllegalStateException("A builder from a PooledHtmlBuilderFactory cannot be "
+            + "used after asSafeHtml() or finish() is called.");
+      }
+    }
+  }
+
+  /**
+   * Create a factory that keeps up to {@link #DEFAULT_MAX_IDLE} idle buffers
+   * per thread. This is the best choice for request threads that render many
+   * fragments, as acquiring and releasing a buffer never contends with other
+   * threads.
+   * 
+   * @return a new {@link PooledHtmlBuilderFactory}
+   */
+  public static PooledHtmlBuilderFactory perThread() {
+    return perThread(DEFAULT_MAX_IDLE, DEFAULT_MAX_RETAINED_CAPACITY);
+  }
+
+  /**
+   * Create a factory that keeps up to <code>maxIdle</code> idle buffers per
+   * thread.
+   * 
+   * @param maxIdle the maximum number of idle buffers kept per thread
+   * @param maxRetainedCapacity the largest buffer capacity that is kept for
+   *          reuse
+   * @return a new {@link PooledHtmlBuilderFactory}
+   */
+  public static PooledHtmlBuilderFactory perThread(int maxIdle, int maxRetainedCapacity) {
+    return new PerThreadFactory(maxIdle, maxRetainedCapacity);
+  }
+
+  /**
+   * Create a factory that shares up to <code>maxIdle</code> idle buffers
+   * between all threads. Use this when builders are created and released on
+   * different threads, or when the number of threads is unbounded.
+   * 
+   * @param maxIdle the maximum number of idle buffers kept by the pool
+   * @return a new {@link PooledHtmlBuilderFactory}
+   */
+  public static PooledHtmlBuilderFactory bounded(int maxIdle) {
+    return bounded(maxIdle, DEFAULT_MAX_RETAINED_CAPACITY);
+  }
+
+  /**
+   * Create a factory that shares up to <code>maxIdle</code> idle buffers
+   * between all threads.
+   * 
+   * @param maxIdle the maximum number of idle buffers kept by the pool
+   * @param maxRetainedCapacity the largest buffer capacity that is kept for
+   *          reuse
+   * @return a new {@link PooledHtmlBuilderFactory}
+   */
+  public static PooledHtmlBuilderFactory bounded(int maxIdle, int maxRetainedCapacity) {
+    return new BoundedFactory(maxIdle, maxRetainedCapacity);
+  }
+
+  private final int maxRetainedCapacity;
+
+  /**
+   * Created from static factory methods.
+   */
+  PooledHtmlBuilderFactory(int maxRetainedCapacity) {
+    this.maxRetainedCapacity = maxRetainedCapacity;
+  }
+
+  @Override
+  HtmlBuilderImpl impl() {
+    StringBuilder buffer = poll();
+    if (buffer == null) {
+      buffer = new StringBuilder();
+    }
+    return new PooledHtmlBuilderImpl(this, buffer);
+  }
+
+  /**
+   * Take an idle buffer from the pool.
+   * 
+   * @return an idle buffer, or null if the pool is empty
+   */
+  abstract StringBuilder poll();
+
+  /**
+   * Return an idle buffer to the pool. The buffer is dropped if the pool is
+   * full.
+   * 
+   * @param buffer the buffer, already cleared
+   */
+  abstract void offer(StringBuilder buffer);
+
+  /**
+   * Clear a buffer and return it to the pool, unless it has grown too large to
+   * keep.
+   */
+  private void release(StringBuilder buffer) {
+    if (buffer.capacity() > maxRetainedCapacity) {
+      return;
+    }
+    buffer.setLength(0);
+    offer(buffer);
+  }
+}
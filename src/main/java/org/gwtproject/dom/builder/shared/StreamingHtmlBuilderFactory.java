@@ -0,0 +1,449 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import org.gwtproject.dom.client.Element;
+import org.gwtproject.safehtml.shared.SafeHtml;
+import org.gwtproject.safehtml.shared.SafeHtmlUtils;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * An {@link HtmlBuilderFactory} whose builders write the HTML to an
+ * {@link Appendable}, such as a servlet response {@link Writer}, while the
+ * element is being built instead of buffering the whole element until
+ * {@link HtmlElementBuilderBase#asSafeHtml()} is called.
+ * 
+ * <p>
+ * Output is only written at element boundaries, so the sink never sees a
+ * partial tag:
+ * </p>
+ * <ul>
+ * <li>When an element at or above the flush depth ends, everything built so
+ * far is written and the sink is flushed if it is {@link Flushable}. The
+ * default flush depth of 1 flushes when each top level element ends.</li>
+ * <li>When any other element ends and more than the chunk size has been
+ * buffered, the buffer is written without flushing the sink.</li>
+ * </ul>
+ * 
+ * <p>
+ * The builders otherwise behave like those of {@link HtmlBuilderFactory}. Each
+ * <code>createXxxBuilder()</code> call starts a new top level element that is
+ * written after the previous one, so a page can be streamed as a sequence of
+ * top level elements. Each element must be ended before the next one is
+ * created, or their output will be out of order. Calling
+ * <code>asSafeHtml()</code> ends all open elements and returns an empty
+ * {@link SafeHtml}, as the HTML has already been written.
+ * </p>
+ * 
+ * <p>
+ * Regions that depend on slow data can be deferred with
+ * {@link #defer(ElementBuilderBase, CompletionStage, DeferredRenderer)}. An
+ * empty <code>&lt;template&gt;</code> placeholder is written in their place and
+ * the rest of the document keeps streaming. When the data is available, the
+ * HTML of the region is written later in the stream, after a top level element
+ * ends or from {@link #awaitDeferred()}, followed by a small inline script that
+ * swaps it into the placeholder. Regions are written in the order their data
+ * completes.
+ * </p>
+ * 
+ * <p>
+ * A factory and its builders are not thread safe, except that the data of a
+ * deferred region may complete on any thread. {@link IOException}s thrown by
+ * the sink are rethrown as {@link UncheckedIOException}s.
+ * </p>
+ * 
+ * <pre>
+ * StreamingHtmlBuilderFactory factory = StreamingHtmlBuilderFactory.create(response.getWriter());
+ * HtmlTableBuilder table = factory.createTableBuilder();
+ * HtmlTableSectionBuilder tbody = table.startTBody();
+ * for (Row row : rows) {
+ *   tbody.startTR().startTD().text(row.getName()).endTD().endTR();
+ * }
+ * table.asSafeHtml();
+ * </pre>
+ */
+@GwtIncompatible("Writes to java.io sinks")
+public class StreamingHtmlBuilderFactory extends HtmlBuilderFactory {
+
+  /**
+   * The default number of buffered characters above which the buffer is
+   * written when an element ends.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+
+  /**
+   * The default depth at or above which ending an element flushes the sink.
+   */
+  public static final int DEFAULT_FLUSH_DEPTH = 1;
+
+  /**
+   * The prefix of the ids of the placeholders written for deferred regions.
+   */
+  public static final String DEFERRED_ID_PREFIX = "gwt-deferred-";
+
+  /**
+   * Renders the HTML of a deferred region once its data is available.
+   * 
+   * @param <T> the type of the data
+   */
+  public interface DeferredRenderer<T> {
+
+    /**
+     * Render the region as a single top level element. Called on the thread
+     * that completes the data.
+     * 
+     * @param factory the factory used to create the builder for the region
+     * @param data the data
+     * @return the HTML of the region
+     */
+    SafeHtml render(HtmlBuilderFactory factory, T data);
+  }
+
+  /**
+   * A deferred region whose data has completed.
+   */
+  private static class CompletedRegion {
+    private final Throwable error;
+    private final SafeHtml html;
+    private final String id;
+
+    CompletedRegion(String id, SafeHtml html, Throwable error) {
+      this.id = id;
+      this.html = html;
+      this.error = error;
+    }
+  }
+
+  /**
+   * An {@link HtmlBuilderImpl} that drains its buffer to the sink as elements
+   * end.
+   */
+  private static class StreamingHtmlBuilderImpl extends HtmlBuilderImpl {
+
+    private final StreamingHtmlBuilderFactory factory;
+
+    /**
+     * The number of characters already drained to the sink.
+     */
+    private int written;
+
+    StreamingHtmlBuilderImpl(StreamingHtmlBuilderFactory factory) {
+      this.factory = factory;
+    }
+
+    @Override
+    public SafeHtml asSafeHtml() {
+      long start = startFinishTimer();
+
+      // Ending the top level element writes the remaining output.
+      endAllTags();
+      stopFinishTimer(start);
+      return SafeHtmlUtils.EMPTY_SAFE_HTML;
+    }
+
+    @Override
+    protected void doEndStartTagImpl() {
+      super.doEndStartTagImpl();
+      onEnd();
+    }
+
+    @Override
+    protected void doEndTagImpl(String tagName) {
+      super.doEndTagImpl(tagName);
+      onEnd();
+    }
+
+    @Override
+    protected Element doFinishImpl() {
+      throw new UnsupportedOperationException(
+          "Streamed HTML cannot be returned as an Element, use asSafeHtml() to end the element.");
+    }
+
+    @Override
+    int length() {
+      return written + super.length();
+    }
+
+    @Override
+    protected void onBuiltInStart(String tagName, ElementBuilderBase<?> builder) {
+      super.onBuiltInStart(tagName, builder);
+      if (getDepth() == 1) {
+        factory.openElementCount++;
+      }
+    }
+
+    /**
+     * Add the placeholder of a deferred region as a child of the current
+     * element.
+     */
+    void appendPlaceholder(String id) {
+      onTrustedChild();
+      buffer().append("<template id=\"").append(id).append("\"></template>");
+    }
+
+    /**
+     * Drain the buffer if the element that just ended is at a flush boundary.
+     * The stack still contains the element, so the depth is at least 1. Once
+     * the top level element ends, any deferred regions that have completed
+     * are written after it.
+     */
+    private void onEnd() {
+      StringBuilder buffer = buffer();
+      if (getDepth() <= factory.flushDepth) {
+        written += buffer.length();
+        factory.write(buffer, true);
+        if (getDepth() == 1) {
+          factory.openElementCount--;
+          factory.writeCompletedRegions();
+        }
+      } else if (buffer.length() >= factory.chunkSize) {
+        written += buffer.length();
+        factory.write(buffer, false);
+      }
+    }
+  }
+
+  /**
+   * Create a factory that writes to the specified sink using the default chunk
+   * size and flush depth.
+   * 
+   * @param out the sink
+   * @return a new {@link StreamingHtmlBuilderFactory}
+   */
+  public static StreamingHtmlBuilderFactory create(Appendable out) {
+    return create(out, DEFAULT_CHUNK_SIZE, DEFAULT_FLUSH_DEPTH);
+  }
+
+  /**
+   * Create a factory that writes to the specified sink.
+   * 
+   * @param out the sink
+   * @param chunkSize the number of buffered characters above which the buffer
+   *          is written when any element ends
+   * @param flushDepth the depth at or above which ending an element writes the
+   *          buffer and flushes the sink, where 1 is the top level element
+   * @return a new {@link StreamingHtmlBuilderFactory}
+   */
+  public static StreamingHtmlBuilderFactory create(Appendable out, int chunkSize, int flushDepth) {
+    if (out == null) {
+      throw new NullPointerException("out cannot be null");
+    }
+    if (flushDepth < 1) {
+      throw new IllegalArgumentException("flushDepth must be at least 1");
+    }
+    return new StreamingHtmlBuilderFactory(out, chunkSize, flushDepth);
+  }
+
+  private final int chunkSize;
+
+  /**
+   * Deferred regions whose data has completed but that have not been written.
+   */
+  private final BlockingQueue<CompletedRegion> completedRegions =
+      new LinkedBlockingQueue<CompletedRegion>();
+
+  /**
+   * The first failure of a deferred region, rethrown by {@link #awaitDeferred()}.
+   */
+  private Throwable deferredFailure;
+
+  private int deferredCount;
+  private final int flushDepth;
+
+  /**
+   * The number of top level elements that have been started but not ended.
+   */
+  private int openElementCount;
+
+  private final Appendable out;
+
+  /**
+   * The number of deferred regions that have not been written.
+   */
+  private int pendingRegionCount;
+
+  /**
+   * Scratch space used to copy the buffer to a {@link Writer} without creating
+   * a String.
+   */
+  private char[] scratch;
+
+  /**
+   * Created from static factory methods.
+   */
+  protected StreamingHtmlBuilderFactory(Appendable out, int chunkSize, int flushDepth) {
+    this.out = out;
+    this.chunkSize = chunkSize;
+    this.flushDepth = flushDepth;
+  }
+
+  /**
+   * Created by subclasses that write to a sink other than an
+   * {@link Appendable}. Such subclasses must override
+   * {@link #write(StringBuilder, boolean)}.
+   */
+  StreamingHtmlBuilderFactory(int chunkSize, int flushDepth) {
+    this(null, chunkSize, flushDepth);
+  }
+
+  /**
+   * Wait for the data of all deferred regions and write each region as soon as
+   * it completes. Call this after the last top level element has ended.
+   * 
+   * @throws IllegalStateException if a top level element is still open, or if
+   *           the data or rendering of a region failed, in which case its
+   *           placeholder is left in place
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void awaitDeferred() throws InterruptedException {
+    if (openElementCount > 0) {
+      throw new IllegalStateException(
+          "Deferred regions can only be written after all top level elements have ended.");
+    }
+    while (pendingRegionCount > 0) {
+      writeRegion(completedRegions.take());
+    }
+    if (deferredFailure != null) {
+      Throwable failure = deferredFailure;
+      deferredFailure = null;
+      throw new IllegalStateException("A deferred region failed to render.", failure);
+    }
+  }
+
+  /**
+   * Add a deferred region as the next child of the current element of a
+   * builder created by this factory. An empty placeholder is written in its
+   * place, and the region is rendered when the data completes.
+   * 
+   * @param parent the builder of the element that contains the region
+   * @param data the data of the region
+   * @param renderer the renderer of the region
+   * @param <T> the type of the data
+   * @throws IllegalArgumentException if the parent was not created by this
+   *           factory
+   * @throws IllegalStateException if the current element of the parent cannot
+   *           have another child
+   */
+  public <T> void defer(ElementBuilderBase<?> parent, CompletionStage<T> data,
+      final DeferredRenderer<? super T> renderer) {
+    HtmlBuilderImpl delegate = (parent instanceof HtmlElementBuilderBase)
+        ? ((HtmlElementBuilderBase<?>) parent).getDelegate() : null;
+    if (!(delegate instanceof StreamingHtmlBuilderImpl)
+        || ((StreamingHtmlBuilderImpl) delegate).factory != this) {
+      throw new IllegalArgumentException(
+          "Regions can only be deferred in builders created by this factory.");
+    }
+
+    final String id = DEFERRED_ID_PREFIX + deferredCount;
+    ((StreamingHtmlBuilderImpl) delegate).appendPlaceholder(id);
+    deferredCount++;
+    pendingRegionCount++;
+    data.whenComplete(new BiConsumer<T, Throwable>() {
+      @Override
+      public void accept(T value, Throwable error) {
+        if (error != null) {
+          completedRegions.add(new CompletedRegion(id, null, error));
+          return;
+        }
+        try {
+          completedRegions.add(new CompletedRegion(id, renderer.render(HtmlBuilderFactory.get(),
+              value), null));
+        } catch (Throwable e) {
+          completedRegions.add(new CompletedRegion(id, null, e));
+        }
+      }
+    });
+  }
+
+  @Override
+  HtmlBuilderImpl impl() {
+    return new StreamingHtmlBuilderImpl(this);
+  }
+
+  /**
+   * Write and clear the buffer. Only called when an element ends, so the
+   * buffer always contains complete tags.
+   *
+   * @param buffer the buffer to write
+   * @param flush true to also flush the sink
+   */
+  void write(StringBuilder buffer, boolean flush) {
+    try {
+      int length = buffer.length();
+      if (out instanceof Writer) {
+        Writer writer = (Writer) out;
+        if (scratch == null) {
+          scratch = new char[Math.max(1024, Math.min(chunkSize, 16 * 1024))];
+        }
+        for (int start = 0; start < length; start += scratch.length) {
+          int end = Math.min(length, start + scratch.length);
+          buffer.getChars(start, end, scratch, 0);
+          writer.write(scratch, 0, end - start);
+        }
+      } else {
+        out.append(buffer, 0, length);
+      }
+      buffer.setLength(0);
+      if (flush && out instanceof Flushable) {
+        ((Flushable) out).flush();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Write the deferred regions that have already completed, without waiting.
+   */
+  private void writeCompletedRegions() {
+    CompletedRegion region;
+    while (pendingRegionCount > 0 && (region = completedRegions.poll()) != null) {
+      writeRegion(region);
+    }
+  }
+
+  /**
+   * Write a completed deferred region, followed by the script that moves it
+   * into its placeholder. Failed regions are recorded instead.
+   */
+  private void writeRegion(CompletedRegion region) {
+    pendingRegionCount--;
+    if (region.error != null) {
+      if (deferredFailure == null) {
+        deferredFailure = region.error;
+      }
+      return;
+    }
+
+    String html = region.html.asString();
+    String contentId = region.id + "-content";
+    StringBuilder sb = new StringBuilder(html.length() + 256);
+    sb.append("<template id=\"").append(contentId).append("\">").append(html);
+    sb.append("</template><script>(function(){var d=document,p=d.getElementById(\"");
+    sb.append(region.id).append("\"),c=d.getElementById(\"").append(contentId);
+    sb.append("\");p.parentNode.replaceChild(c.content,p);c.parentNode.removeChild(c);})();");
+    sb.append("</script>");
+    write(sb, true);
+  }
+}
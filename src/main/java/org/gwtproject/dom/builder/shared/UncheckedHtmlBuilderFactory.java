@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+/**
+ * An {@link HtmlBuilderFactory} whose builders skip the checks that builder
+ * methods are called in a valid order.
+ * 
+ * <p>
+ * The builders of {@link HtmlBuilderFactory} check their state on every call,
+ * for example that an attribute is not added after a child element, that an
+ * element only has the children it supports, and that
+ * <code>end(tagName)</code> matches the current element. These checks catch
+ * mistakes during development, but cost time on every call for rendering code
+ * that is already tested. The builders of this factory skip them, and produce
+ * undefined output if the methods are called in an invalid order.
+ * </p>
+ * 
+ * <p>
+ * The checks that keep values out of the markup are not skipped: tag names
+ * are still validated, text and attribute values are still escaped, and
+ * elements with a forbidden end tag, such as <code>input</code>, still reject
+ * text, html and child elements, which would otherwise be written inside their
+ * start tag. Use {@link HtmlBuilderFactory} in tests and during development,
+ * and this factory in production:
+ * </p>
+ * 
+ * <pre>
+ * HtmlBuilderFactory factory = isProduction ? UncheckedHtmlBuilderFactory.get()
+ *     : HtmlBuilderFactory.get();
+ * </pre>
+ */
+public class UncheckedHtmlBuilderFactory extends HtmlBuilderFactory {
+
+  /**
+   * Holds the instance, which is created when the holder class is initialized.
+   */
+  private static class InstanceHolder {
+    private static final UncheckedHtmlBuilderFactory INSTANCE = new UncheckedHtmlBuilderFactory();
+  }
+
+  /**
+   * Get the instance of the {@link UncheckedHtmlBuilderFactory}.
+   * 
+   * @return the {@link UncheckedHtmlBuilderFactory}
+   */
+  public static UncheckedHtmlBuilderFactory get() {
+    return InstanceHolder.INSTANCE;
+  }
+
+  /**
+   * Created from static factory method.
+   */
+  protected UncheckedHtmlBuilderFactory() {
+  }
+
+  @Override
+  HtmlBuilderImpl impl() {
+    return new HtmlBuilderImpl(false);
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.client;
+
+import org.gwtproject.dom.style.shared.Unit;
+
+/**
+ * Formats numeric CSS values, such as lengths in pixels, the same way on the
+ * client and on a server.
+ * 
+ * <p>
+ * Integral values are written without a fractional part, so 10 is written as
+ * <code>10</code> rather than <code>10.0</code>. Other values are rounded to
+ * {@value #MAX_DECIMALS} decimals, which is finer than any browser renders, and
+ * trailing zeros are dropped. Values are appended directly to a
+ * {@link StringBuilder} without creating an intermediate string. Very large
+ * values, infinities and NaN are written as {@link StringBuilder#append(double)}
+ * writes them.
+ * </p>
+ */
+public final class CssNumberFormat {
+
+  /**
+   * The maximum number of decimals written.
+   */
+  public static final int MAX_DECIMALS = 4;
+
+  /**
+   * 10 to the power of {@link #MAX_DECIMALS}.
+   */
+  private static final int SCALE = 10000;
+
+  /**
+   * Append a number to a buffer.
+   * 
+   * @param sb the buffer to append to
+   * @param value the number
+   * @return the buffer
+   */
+  public static StringBuilder append(StringBuilder sb, double value) {
+    int intValue = (int) value;
+    if (value == intValue) {
+      // Integral, including -0.0, which is written as 0.
+      return sb.append(intValue);
+    }
+
+    // Round half up on the magnitude. NaN fails the range check.
+    double scaled = Math.abs(value) * SCALE + 0.5;
+    if (!(scaled < Integer.MAX_VALUE)) {
+      return sb.append(value);
+    }
+
+    int rounded = (int) scaled;
+    if (rounded == 0) {
+      return sb.append('0');
+    }
+    if (value < 0) {
+      sb.append('-');
+    }
+    sb.append(rounded / SCALE);
+    int fraction = rounded % SCALE;
+    if (fraction != 0) {
+      sb.append('.');
+      for (int digit = SCALE / 10; fraction != 0; digit /= 10) {
+        sb.append((char) ('0' + fraction / digit));
+        fraction %= digit;
+      }
+    }
+    return sb;
+  }
+
+  /**
+   * Format a number followed by a unit.
+   * 
+   * @param value the number
+   * @param unit the unit
+   * @return the formatted value, such as <code>10px</code>
+   */
+  public static String format(double value, Unit unit) {
+    return append(new StringBuilder(16), value).append(unit.getType()).toString();
+  }
+
+  private CssNumberFormat() {
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.client;
+
+import org.gwtproject.dom.style.shared.CssProperty;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts the camelCase names of style properties to the hyphenated names
+ * written in a style attribute, the same way on the client and on a server, so
+ * that the DOM and HTML builders write the same names for the same calls.
+ * 
+ * <p>
+ * The camelCase name of a known style property is looked up in a table, so
+ * the DOM name <code>cssFloat</code> becomes <code>float</code>. Other names
+ * are converted by replacing each uppercase letter with a hyphen followed by
+ * the lowercase letter, and are cached. Names that are already hyphenated are
+ * returned as is.
+ * </p>
+ */
+public final class CssPropertyNames {
+
+  /**
+   * The maximum number of names cached in {@link #camelCaseMap}. Names are
+   * converted without being cached once the cache is full, so generated names
+   * cannot grow it without bound.
+   */
+  private static final int MAX_CACHED_NAMES = 1024;
+
+  /**
+   * The style properties known to {@link Style}, which are converted once when
+   * the class is initialized.
+   */
+  private static final CssProperty[] KNOWN_PROPERTIES = {
+      CssProperty.BACKGROUND_COLOR, CssProperty.BACKGROUND_IMAGE, CssProperty.BORDER_COLOR,
+      CssProperty.BORDER_STYLE, CssProperty.BORDER_WIDTH, CssProperty.BOTTOM, CssProperty.CLEAR,
+      CssProperty.COLOR, CssProperty.CURSOR, CssProperty.DISPLAY, CssProperty.FLOAT,
+      CssProperty.FONT_SIZE, CssProperty.FONT_STYLE, CssProperty.FONT_WEIGHT, CssProperty.HEIGHT,
+      CssProperty.LEFT, CssProperty.LINE_HEIGHT, CssProperty.LIST_TYPE, CssProperty.MARGIN,
+      CssProperty.MARGIN_BOTTOM, CssProperty.MARGIN_LEFT, CssProperty.MARGIN_RIGHT,
+      CssProperty.MARGIN_TOP, CssProperty.OPACITY, CssProperty.OUTLINE_COLOR,
+      CssProperty.OUTLINE_STYLE, CssProperty.OUTLINE_WIDTH, CssProperty.OVERFLOW,
+      CssProperty.OVERFLOW_X, CssProperty.OVERFLOW_Y, CssProperty.PADDING,
+      CssProperty.PADDING_BOTTOM, CssProperty.PADDING_LEFT, CssProperty.PADDING_RIGHT,
+      CssProperty.PADDING_TOP, CssProperty.POSITION, CssProperty.RIGHT, CssProperty.TABLE_LAYOUT,
+      CssProperty.TEXT_ALIGN, CssProperty.TEXT_DECORATION, CssProperty.TEXT_INDENT,
+      CssProperty.TEXT_JUSTIFY, CssProperty.TEXT_OVERFLOW, CssProperty.TEXT_TRANSFORM,
+      CssProperty.TOP, CssProperty.VERTICAL_ALIGN, CssProperty.VISIBILITY,
+      CssProperty.WHITE_SPACE, CssProperty.WIDTH, CssProperty.Z_INDEX};
+
+  /**
+   * A map of the camelCase names of the known style properties to their
+   * hyphenated equivalents. The map is filled when the class is initialized
+   * and never changed, so it can be read from any thread.
+   */
+  private static final Map<String, String> knownPropertyMap = new HashMap<String, String>();
+
+  /**
+   * A map of other camelCase style properties to their hyphenated equivalents.
+   * 
+   * The set of style property names is limited, and common ones are reused
+   * frequently, so caching saves us from converting every style property name
+   * from camelCase to hyphenated form.
+   * 
+   * The map is shared by every thread rendering HTML on a server, so it must
+   * be safe for concurrent use without a lock. Converting a name always gives
+   * the same result, so two threads that race to cache the same name simply
+   * store equal values.
+   */
+  private static final Map<String, String> camelCaseMap = new ConcurrentHashMap<String, String>();
+
+  static {
+    for (CssProperty property : KNOWN_PROPERTIES) {
+      String hyphenated = hyphenate(property.getJsName());
+      // The DOM prefixes names that are reserved words, such as cssFloat.
+      if (hyphenated.startsWith("css-")) {
+        hyphenated = hyphenated.substring(4);
+      }
+      knownPropertyMap.put(property.getJsName(), hyphenated);
+    }
+  }
+
+  /**
+   * Convert a camelCase string to a hyphenated string by replacing each
+   * uppercase letter with a hyphen followed by the lowercase letter, without
+   * looking up known names or caching the result. For example, backgroundUrl
+   * becomes background-url.
+   * 
+   * <p>
+   * Characters before the first letter are not part of a word and are dropped.
+   * This method does not validate the style property name.
+   * {@link org.gwtproject.safecss.shared.SafeStylesUtils} performs a more
+   * detailed check.
+   * </p>
+   * 
+   * @param name the camelCase string to convert
+   * @return the hyphenated string
+   */
+  public static String hyphenate(String name) {
+    int length = name.length();
+    int i = 0;
+    while (i < length && !isAsciiLetter(name.charAt(i))) {
+      i++;
+    }
+
+    StringBuilder sb = new StringBuilder(length + 4);
+    for (; i < length; i++) {
+      char c = name.charAt(i);
+      if (c >= 'A' && c <= 'Z') {
+        sb.append('-').append((char) (c + ('a' - 'A')));
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Convert a camelCase or hyphenated string to a hyphenated string.
+   * 
+   * @param name the camelCase or hyphenated string to convert
+   * @return the hyphenated string
+   */
+  public static String toHyphenatedForm(String name) {
+    // Early exit if already in hyphenated form.
+    if (name.contains("-")) {
+      return name;
+    }
+
+    // Check for a known name, then for the name in the cache.
+    String hyphenated = knownPropertyMap.get(name);
+    if (hyphenated == null) {
+      hyphenated = camelCaseMap.get(name);
+    }
+
+    // Convert the name to hyphenated format if not in the cache.
+    if (hyphenated == null) {
+      hyphenated = hyphenate(name);
+      if (camelCaseMap.size() < MAX_CACHED_NAMES) {
+        camelCaseMap.put(name, hyphenated);
+      }
+    }
+
+    return hyphenated;
+  }
+
+  private static boolean isAsciiLetter(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private CssPropertyNames() {
+  }
+}
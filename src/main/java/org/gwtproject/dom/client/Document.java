@@ -304,6 +304,13 @@ public class Document extends Node {
     return (DivElement) (Element) (Object) Js.<HTMLDocument>uncheckedCast(this).createElement(DivElement.TAG);
   }
 
+  /**
+   * Creates an empty document fragment.
+   * 
+   * @return the newly created document fragment
+   */
+  public final native DocumentFragment createDocumentFragment();
+
   /**
    * Creates a &lt;dl&gt; element.
    * 
@@ -1132,6 +1139,16 @@ public class Document extends Node {
     return (TableCellElement) (Element) (Object) Js.<HTMLDocument>uncheckedCast(this).createElement(TableCellElement.TAG_TD);
   }
 
+  /**
+   * Creates a &lt;template&gt; element.
+   * 
+   * @return the newly created element
+   */
+  @JsOverlay
+  public final TemplateElement createTemplateElement() {
+    return (TemplateElement) (Element) (Object) Js.<HTMLDocument>uncheckedCast(this).createElement(TemplateElement.TAG);
+  }
+
   /**
    * Creates a &lt;textarea&gt; element.
    * 
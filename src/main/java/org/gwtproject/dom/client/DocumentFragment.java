@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.client;
+
+import jsinterop.annotations.JsOverlay;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+/**
+ * A lightweight node that holds a list of nodes without a parent element.
+ * When a document fragment is inserted into the document, its children are
+ * moved into the document in a single operation, and the fragment is left
+ * empty.
+ * 
+ * @see <a href="https://dom.spec.whatwg.org/#interface-documentfragment">DOM Specification</a>
+ */
+@JsType(isNative = true, name = "Object", namespace = JsPackage.GLOBAL)
+public class DocumentFragment extends Node {
+
+  /**
+   * The node type of a document fragment.
+   */
+  @JsOverlay
+  public static final short DOCUMENT_FRAGMENT_NODE = 11;
+
+  /**
+   * Assert that the given {@link Node} is a document fragment and
+   * automatically typecast it.
+   */
+  @JsOverlay
+  public static DocumentFragment as(Node node) {
+    assert node.getNodeType() == DOCUMENT_FRAGMENT_NODE;
+    return (DocumentFragment) node;
+  }
+
+  protected DocumentFragment() {
+  }
+}
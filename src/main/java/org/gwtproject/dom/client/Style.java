@@ -1432,7 +1432,7 @@ public class Style extends JavaScriptObject {
    */
   @JsOverlay
   public final void setProperty(CssProperty name, double value, org.gwtproject.dom.style.shared.Unit unit) {
-    setPropertyImpl(name.getJsName(), value + unit.getType());
+    setPropertyImpl(name.getJsName(), CssNumberFormat.format(value, unit));
   }
 
   /**
@@ -1441,7 +1441,7 @@ public class Style extends JavaScriptObject {
   @JsOverlay
   public final void setProperty(String name, double value, org.gwtproject.dom.style.shared.Unit unit) {
     assertCamelCase(name);
-    setPropertyImpl(name, value + unit.getType());
+    setPropertyImpl(name, CssNumberFormat.format(value, unit));
   }
 
   /**
@@ -16,6 +16,7 @@
 package org.gwtproject.dom.builder;
 
 import org.gwtproject.dom.builder.client.*;
+import org.gwtproject.dom.builder.shared.GwtAdaptiveElementBuilderFactoryTest;
 import org.gwtproject.dom.builder.shared.GwtHtmlBuilderImplTest;
 import org.gwtproject.dom.builder.shared.GwtHtmlStylesBuilderTest;
 import org.junit.runner.RunWith;
@@ -33,6 +34,9 @@ import org.junit.runners.Suite;
         GwtDomBuilderImplTest.class,
         GwtDomStylesBuilderTest.class,
 
+        // Adaptive implementation tests.
+        GwtAdaptiveElementBuilderFactoryTest.class,
+
         // Element builder tests.
         GwtAnchorBuilderTest.class,
         GwtAreaBuilderTest.class,
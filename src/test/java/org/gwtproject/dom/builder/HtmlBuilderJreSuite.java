@@ -73,6 +73,21 @@ import org.junit.runners.Suite;
         HtmlTitleBuilderTest.class,
         HtmlUListBuilderTest.class,
         HtmlVideoBuilderTest.class,
+
+        // Builder implementations.
+        AdaptiveHtmlBuilderFactoryTest.class,
+        BuilderMetricsTest.class,
+        ByteBufferHtmlBuilderFactoryTest.class,
+        ConcurrentHtmlBuilderTest.class,
+        ElementTemplateTest.class,
+        ForkJoinHtmlBuilderFactoryTest.class,
+        FragmentCacheTest.class,
+        HtmlFragmentBuilderTest.class,
+        HtmlStylesBuilderTest.class,
+        HydrationHtmlBuilderFactoryTest.class,
+        PooledHtmlBuilderFactoryTest.class,
+        StreamingHtmlBuilderFactoryTest.class,
+        UncheckedHtmlBuilderFactoryTest.class,
 })
 @RunWith(Suite.class)
 public class HtmlBuilderJreSuite {
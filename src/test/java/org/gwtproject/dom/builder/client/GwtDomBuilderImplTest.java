@@ -15,14 +15,240 @@
  */
 package org.gwtproject.dom.builder.client;
 
+import org.gwtproject.dom.builder.shared.DivBuilder;
 import org.gwtproject.dom.builder.shared.ElementBuilderFactory;
+import org.gwtproject.dom.builder.shared.ElementTemplate;
 import org.gwtproject.dom.builder.shared.GwtElementBuilderImplTestBase;
+import org.gwtproject.dom.builder.shared.HydrationHtmlBuilderFactory;
+import org.gwtproject.dom.builder.shared.TableCellBuilder;
+import org.gwtproject.dom.builder.shared.TableRowBuilder;
+import org.gwtproject.dom.builder.shared.TableSectionBuilder;
+import org.gwtproject.dom.client.Document;
+import org.gwtproject.dom.client.Element;
+import org.gwtproject.safehtml.shared.SafeHtmlUtils;
 
 /**
  * Gwt tests for {@link DomBuilderImpl}.
  */
 public class GwtDomBuilderImplTest extends GwtElementBuilderImplTestBase {
 
+  /**
+   * Build a view with nested elements, attributes, styles, text and html.
+   */
+  private static Element renderView(ElementBuilderFactory factory, String title) {
+    DivBuilder div = factory.createDivBuilder().id("view");
+    div.startSpan().title(title).text("header").endSpan();
+    TableSectionBuilder tbody = div.startTable().startTBody();
+    for (int i = 0; i < 3; i++) {
+      TableRowBuilder tr = tbody.startTR();
+      TableCellBuilder td = tr.startTD();
+      td.style().trustedProperty("color", "red").endStyle();
+      td.text("cell " + i).endTD();
+      tr.endTR();
+    }
+    tbody.endTBody();
+    div.endTable();
+    div.startDiv().html(SafeHtmlUtils.fromSafeConstant("<b>raw</b>")).endDiv();
+    div.startParagraph().text("footer").endParagraph();
+    return div.finish();
+  }
+
+  public void testFragmentAppendTo() {
+    Element list = Document.get().createULElement();
+    list.appendChild(Document.get().createLIElement());
+
+    DomFragmentBuilder fragment = DomFragmentBuilder.create();
+    for (int i = 0; i < 3; i++) {
+      fragment.createLIBuilder().text("item " + i).startSpan().endSpan();
+    }
+    fragment.appendTo(list);
+
+    assertEquals(4, list.getChildCount());
+    Element last = Element.as(list.getLastChild());
+    assertEquals("item 2", last.getInnerText());
+    assertFalse(fragment.finish().hasChildNodes());
+  }
+
+  public void testFragmentInsertBefore() {
+    Element container = Document.get().createDivElement();
+    Element first = container.appendChild(Document.get().createSpanElement());
+    Element last = container.appendChild(Document.get().createSpanElement());
+
+    DomFragmentBuilder fragment = DomFragmentBuilder.create();
+    fragment.createDivBuilder().id("a");
+    fragment.createDivBuilder().id("b");
+    fragment.insertBefore(last);
+
+    assertEquals(4, container.getChildCount());
+    assertSame(first, container.getChild(0));
+    assertEquals("a", Element.as(container.getChild(1)).getId());
+    assertEquals("b", Element.as(container.getChild(2)).getId());
+    assertSame(last, container.getChild(3));
+
+    try {
+      DomFragmentBuilder.create().insertBefore(Document.get().createDivElement());
+      fail("Expected IllegalStateException: the node does not have a parent");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+  }
+
+  public void testFragmentReplaceChildren() {
+    Element tbody = Document.get().createTBodyElement();
+    tbody.appendChild(Document.get().createTRElement());
+
+    DomFragmentBuilder fragment = DomFragmentBuilder.create();
+    fragment.createTRBuilder().startTD().text("1").endTD();
+    fragment.createTRBuilder().startTD().text("2").endTD();
+    fragment.replaceChildren(tbody);
+
+    assertEquals(2, tbody.getChildCount());
+    Element row = tbody.getFirstChildElement();
+    assertTrue("tr".equalsIgnoreCase(row.getTagName()));
+    assertEquals("1", row.getInnerText());
+  }
+
+  public void testHydrate() {
+    Element existing = renderView(HydrationHtmlBuilderFactory.get(), "title");
+    Element container = Document.get().createDivElement();
+    container.appendChild(existing);
+    String html = container.getInnerHTML();
+    Element span = existing.getFirstChildElement();
+
+    Element view = renderView(DomBuilderFactory.hydrate(existing), "other title");
+    assertSame(existing, view);
+    assertSame(container, view.getParentElement());
+    assertSame(span, view.getFirstChildElement());
+
+    // Existing attributes and content are not set again.
+    assertEquals("title", span.getTitle());
+    assertEquals(html, container.getInnerHTML());
+  }
+
+  public void testHydrateMismatch() {
+    Element existing = HydrationHtmlBuilderFactory.get().createDivBuilder().finish();
+    DivBuilder div = DomBuilderFactory.hydrate(existing).createDivBuilder();
+    try {
+      div.startSpan();
+      fail("Expected IllegalStateException: there is no existing span");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+
+    try {
+      DomBuilderFactory.hydrate(existing).createSpanBuilder();
+      fail("Expected IllegalStateException: the existing element is a div");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+  }
+
+  public void testHybrid() {
+    Element expected = renderView(DomBuilderFactory.get(), "title");
+    for (int depth = 1; depth <= 4; depth++) {
+      Element actual = renderView(DomBuilderFactory.hybrid(depth), "title");
+      assertEquals(expected.getInnerHTML().toLowerCase(), actual.getInnerHTML().toLowerCase());
+    }
+
+    // The rows are added to the element of the section when it is ended.
+    TableSectionBuilder tbody = DomBuilderFactory.hybrid(1).createTBodyBuilder();
+    for (int i = 0; i < 2; i++) {
+      TableRowBuilder tr = tbody.startTR();
+      tr.startTD().text("cell " + i).endTD();
+      tr.endTR();
+    }
+    Element section = tbody.finish();
+    assertEquals(2, section.getChildCount());
+    Element td = section.getFirstChildElement().getNextSiblingElement().getFirstChildElement();
+    assertTrue("td".equalsIgnoreCase(td.getTagName()));
+    assertEquals("cell 1", td.getInnerText());
+
+    try {
+      DomBuilderFactory.hybrid(0);
+      fail("Expected IllegalArgumentException: the structure depth must be positive");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+
+  public void testHybridThroughAncestorBuilders() {
+    // Build the rows and cells as HTML through the builder of the section.
+    TableSectionBuilder tbody = DomBuilderFactory.hybrid(1).createTBodyBuilder();
+    for (int i = 0; i < 2; i++) {
+      tbody.startTR();
+      tbody.className("row");
+      tbody.startTD();
+      tbody.title("title " + i).text("cell " + i);
+      tbody.endTD();
+      tbody.endTR();
+    }
+    tbody.endTBody();
+    Element section = tbody.finish();
+    assertEquals(2, section.getChildCount());
+    Element tr = section.getFirstChildElement().getNextSiblingElement();
+    assertEquals("row", tr.getClassName());
+    assertEquals(1, tr.getChildCount());
+    Element td = tr.getFirstChildElement();
+    assertTrue("td".equalsIgnoreCase(td.getTagName()));
+    assertEquals("title 1", td.getTitle());
+    assertEquals("cell 1", td.getInnerText());
+
+    // The builder of a row built as HTML ends the section once the row is ended.
+    tbody = DomBuilderFactory.hybrid(1).createTBodyBuilder();
+    TableRowBuilder row = tbody.startTR();
+    row.startTD().text("cell").endTD();
+    row.end();
+    row.end();
+    assertEquals(0, tbody.getDepth());
+    section = tbody.finish();
+    assertEquals(1, section.getChildCount());
+    assertEquals("cell", section.getInnerText());
+
+    // Element properties of a row built as HTML are set with its own builder.
+    tbody = DomBuilderFactory.hybrid(1).createTBodyBuilder();
+    tbody.startTR();
+    try {
+      tbody.vAlign("top");
+      fail("Expected IllegalStateException: the row is built as HTML");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+  }
+
+  public void testTemplateClone() {
+    ElementTemplate row = ElementTemplate.start("tr").attribute("class", "row")
+        .start("td").attributeHole("title").textHole().end()
+        .start("td").style("textAlign", "right").styleHole("width").htmlHole().end()
+        .build();
+
+    Element first = row.finish(DomBuilderFactory.get(), "a", "1", "10px",
+        SafeHtmlUtils.fromSafeConstant("<b>x</b>"));
+    TableSectionBuilder tbody = DomBuilderFactory.get().createTBodyBuilder();
+    row.appendTo(tbody, "b", "2", "20px", SafeHtmlUtils.EMPTY_SAFE_HTML);
+    Element second = tbody.finish().getFirstChildElement();
+
+    for (Element tr : new Element[] {first, second}) {
+      assertTrue("tr".equalsIgnoreCase(tr.getTagName()));
+      assertEquals("row", tr.getClassName());
+      assertEquals(2, tr.getChildCount());
+    }
+    Element td = first.getFirstChildElement();
+    assertEquals("a", td.getTitle());
+    assertEquals("1", td.getInnerText());
+    td = td.getNextSiblingElement();
+    assertEquals("right", td.getStyle().getTextAlign());
+    assertEquals("10px", td.getStyle().getWidth());
+    assertEquals("<b>x</b>", td.getInnerHTML().toLowerCase());
+
+    // Each clone is a separate copy of the skeleton.
+    td = second.getFirstChildElement();
+    assertEquals("b", td.getTitle());
+    assertEquals("2", td.getInnerText());
+    td = td.getNextSiblingElement();
+    assertEquals("20px", td.getStyle().getWidth());
+    assertEquals("", td.getInnerHTML());
+  }
+
   @Override
   protected ElementBuilderFactory getElementBuilderFactory() {
     return DomBuilderFactory.get();
@@ -15,21 +15,39 @@
  */
 package org.gwtproject.dom.builder.client;
 
+import org.gwtproject.dom.builder.shared.DivBuilder;
 import org.gwtproject.dom.builder.shared.GwtStylesBuilderTestBase;
+import org.gwtproject.dom.builder.shared.HtmlBuilderFactory;
 
 /**
  * Gwt tests for {@link DomStylesBuilder}.
  */
 public class GwtDomStylesBuilderTest extends GwtStylesBuilderTestBase {
 
-  public void testToCamelCaseForm() {
-    assertEquals("simple", DomStylesBuilder.toCamelCaseForm("simple"));
-    assertEquals("alreadycamelCase", DomStylesBuilder.toCamelCaseForm("alreadycamelCase"));
-    assertEquals("alreadyCamelCaseMultipleHumps", DomStylesBuilder
-        .toCamelCaseForm("alreadyCamelCaseMultipleHumps"));
-    assertEquals("wasHyphenated", DomStylesBuilder.toCamelCaseForm("was-hyphenated"));
-    assertEquals("wasHyphenatedTwice", DomStylesBuilder.toCamelCaseForm("was-hyphenated-twice"));
-    assertEquals("startsWithHyphen", DomStylesBuilder.toCamelCaseForm("-starts-with-hyphen"));
+  public void testSameNamesAsHtmlBuilder() {
+    String[] names = {
+        "cssFloat", "cssCustomName", "_leadingUnderscore", "WebkitBorderRadius", "column2Width",
+        "borderTopWidth", "already-hyphenated"};
+    for (String name : names) {
+      DivBuilder dom = DomBuilderFactory.get().createDivBuilder();
+      dom.style().trustedProperty(name, "1px").endStyle();
+      DivBuilder html = HtmlBuilderFactory.get().createDivBuilder();
+      html.style().trustedProperty(name, "1px").endStyle();
+      assertEquals(name, html.finish().getAttribute("style"), dom.finish().getAttribute("style"));
+    }
+  }
+
+  public void testToHyphenatedForm() {
+    assertEquals("simple", DomStylesBuilder.toHyphenatedForm("simple"));
+    assertEquals("camel-case", DomStylesBuilder.toHyphenatedForm("camelCase"));
+    assertEquals("camel-case-multiple-humps", DomStylesBuilder
+        .toHyphenatedForm("camelCaseMultipleHumps"));
+    assertEquals("already-hyphenated", DomStylesBuilder.toHyphenatedForm("already-hyphenated"));
+    assertEquals("-webkit-border-radius", DomStylesBuilder
+        .toHyphenatedForm("-webkit-border-radius"));
+    assertEquals("-webkit-border-radius", DomStylesBuilder.toHyphenatedForm("WebkitBorderRadius"));
+    assertEquals("float", DomStylesBuilder.toHyphenatedForm("cssFloat"));
+    assertEquals("column2-width", DomStylesBuilder.toHyphenatedForm("column2Width"));
   }
 
   @Override
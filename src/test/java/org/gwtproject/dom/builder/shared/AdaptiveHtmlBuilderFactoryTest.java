@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+/**
+ * Tests for {@link AdaptiveHtmlBuilderFactory}.
+ */
+public class AdaptiveHtmlBuilderFactoryTest extends GWTTestCase {
+
+  /**
+   * Render a table with the specified number of rows.
+   */
+  private static HtmlTableBuilder renderTable(HtmlBuilderFactory factory, int rows) {
+    HtmlTableBuilder table = factory.createTableBuilder();
+    TableSectionBuilder tbody = table.startTBody();
+    for (int i = 0; i < rows; i++) {
+      tbody.startTR().startTD().text("cell " + i).endTD();
+      tbody.endTR();
+    }
+    tbody.endTBody();
+    return table;
+  }
+
+  @Override
+  public String getModuleName() {
+    // JVM only.
+    return null;
+  }
+
+  public void testGetLength() {
+    HtmlDivBuilder div = new AdaptiveHtmlBuilderFactory().createDivBuilder();
+    assertEquals("<div".length(), div.getLength());
+    div.id("a").text("x & y");
+    assertEquals("<div id=\"a\">x &amp; y".length(), div.getLength());
+    assertEquals(div.asSafeHtml().asString().length(), div.getLength());
+  }
+
+  public void testLearnsAverageLength() {
+    AdaptiveHtmlBuilderFactory factory = new AdaptiveHtmlBuilderFactory();
+    assertEquals(0, factory.getExpectedLength("table"));
+
+    int length = renderTable(factory, 1000).asSafeHtml().asString().length();
+    int expected = factory.getExpectedLength("table");
+    assertTrue(expected >= length);
+
+    // The next table is sized up front, so the buffer never grows.
+    HtmlTableBuilder table = renderTable(factory, 0);
+    assertEquals(expected, table.getDelegate().capacity());
+    renderTable(factory, 0).asSafeHtml();
+
+    // Small renders pull the average down.
+    for (int i = 0; i < 20; i++) {
+      renderTable(factory, 10).asSafeHtml();
+    }
+    assertTrue(factory.getExpectedLength("table") < expected / 10);
+
+    // Other tag names are tracked separately.
+    assertEquals(0, factory.getExpectedLength("div"));
+  }
+
+  public void testSizeHint() {
+    AdaptiveHtmlBuilderFactory factory = new AdaptiveHtmlBuilderFactory(50000);
+    assertEquals(50000, factory.getExpectedLength("table"));
+
+    HtmlTableBuilder table = renderTable(factory, 0);
+    assertEquals(50000, table.getDelegate().capacity());
+    assertEquals("<table><tbody></tbody></table>", table.asSafeHtml().asString());
+    assertTrue(factory.getExpectedLength("table") < 50000);
+    assertEquals(50000, factory.getExpectedLength("div"));
+  }
+}
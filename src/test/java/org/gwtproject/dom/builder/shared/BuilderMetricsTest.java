@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import org.gwtproject.safehtml.shared.SafeHtml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link BuilderMetrics} collected by the HTML builders.
+ */
+public class BuilderMetricsTest extends GWTTestCase {
+
+  private final List<BuilderMetrics> reported = new ArrayList<BuilderMetrics>();
+
+  @Override
+  public String getModuleName() {
+    // JVM only.
+    return null;
+  }
+
+  public void testAddInBothDirections() throws Exception {
+    final BuilderMetrics a = new BuilderMetrics();
+    final BuilderMetrics b = new BuilderMetrics();
+    a.onElementStarted(1);
+    b.onElementStarted(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<Void> ab = executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() {
+          for (int i = 0; i < 10000; i++) {
+            a.add(b);
+          }
+          return null;
+        }
+      });
+      Future<Void> ba = executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() {
+          for (int i = 0; i < 10000; i++) {
+            b.add(a);
+          }
+          return null;
+        }
+      });
+      ab.get(60, TimeUnit.SECONDS);
+      ba.get(60, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, a.getMaxDepth());
+    assertEquals(1, b.getMaxDepth());
+  }
+
+  public void testAggregate() {
+    renderTable(HtmlBuilderFactory.get());
+    renderTable(HtmlBuilderFactory.get());
+    BuilderMetrics total = new BuilderMetrics();
+    for (BuilderMetrics metrics : reported) {
+      total.add(metrics);
+    }
+    assertEquals(2, total.getRenderCount());
+    assertEquals(2 * reported.get(0).getElementCount(), total.getElementCount());
+    assertEquals(reported.get(0).getMaxDepth(), total.getMaxDepth());
+    assertEquals(2 * reported.get(0).getOutputLength(), total.getOutputLength());
+  }
+
+  public void testDisabled() {
+    ElementBuilderFactory.setMetricsListener(null);
+    renderTable(HtmlBuilderFactory.get());
+    assertTrue(reported.isEmpty());
+  }
+
+  public void testForkJoinBuilder() {
+    ForkJoinHtmlBuilderFactory factory = ForkJoinHtmlBuilderFactory.create();
+    HtmlDivBuilder div = factory.createDivBuilder();
+    div.startSpan().text("a").endSpan();
+    factory.fork(div, new ForkJoinHtmlBuilderFactory.SlotRenderer() {
+      @Override
+      public SafeHtml render(HtmlBuilderFactory factory) {
+        HtmlSpanBuilder span = factory.createSpanBuilder();
+        span.text("slot");
+        return span.asSafeHtml();
+      }
+    });
+    String html = div.asSafeHtml().asString();
+
+    // The slot and the parent, which includes the HTML of the slot.
+    assertEquals(2, reported.size());
+    assertEquals("<span>slot</span>".length(), reported.get(0).getOutputLength());
+    assertEquals(html.length(), reported.get(1).getOutputLength());
+    assertEquals(3, reported.get(1).getElementCount());
+  }
+
+  public void testFragmentBuilder() {
+    HtmlFragmentBuilder fragment = HtmlFragmentBuilder.create();
+    fragment.createDivBuilder().text("a").endDiv();
+    fragment.createSpanBuilder().startSpan().text("bc").endSpan();
+    fragment.asSafeHtml();
+
+    // Each top level element is reported separately.
+    assertEquals(2, reported.size());
+    assertEquals(1, reported.get(0).getElementCount());
+    assertEquals("<div>a</div>".length(), reported.get(0).getOutputLength());
+    assertEquals(2, reported.get(1).getElementCount());
+    assertEquals("<span><span>bc</span></span>".length(), reported.get(1).getOutputLength());
+  }
+
+  public void testHtmlBuilder() {
+    String html = renderTable(HtmlBuilderFactory.get());
+    assertEquals(1, reported.size());
+    BuilderMetrics metrics = reported.get(0);
+    assertEquals(1, metrics.getRenderCount());
+    // table, tbody, 2 tr, 4 td and a template row, which counts as one.
+    assertEquals(9, metrics.getElementCount());
+    assertEquals(4, metrics.getMaxDepth());
+    assertEquals(html.length(), metrics.getOutputLength());
+    // 4 text values and 2 titles.
+    assertEquals(6, metrics.getEscapeCount());
+    assertEquals(6, metrics.getEscapedCharCount());
+    assertEquals(2, metrics.getStylePropertyCount());
+    assertTrue(metrics.getFinishNanos() >= 0);
+  }
+
+  public void testReportedOnce() {
+    HtmlDivBuilder div = HtmlBuilderFactory.get().createDivBuilder();
+    div.text("a");
+    div.asSafeHtml();
+    div.asSafeHtml();
+    assertEquals(1, reported.size());
+    assertEquals(1, reported.get(0).getElementCount());
+  }
+
+  public void testReset() {
+    PooledHtmlBuilderFactory factory = PooledHtmlBuilderFactory.bounded(1);
+    renderTable(factory);
+    renderTable(factory);
+    assertEquals(2, reported.size());
+    assertNotSame(reported.get(0), reported.get(1));
+    assertEquals(reported.get(0).getElementCount(), reported.get(1).getElementCount());
+  }
+
+  public void testStreamingBuilder() {
+    StringBuilder out = new StringBuilder();
+    renderTable(StreamingHtmlBuilderFactory.create(out));
+    assertEquals(1, reported.size());
+    assertEquals(9, reported.get(0).getElementCount());
+    assertEquals(out.length(), reported.get(0).getOutputLength());
+  }
+
+  @Override
+  protected void gwtSetUp() throws Exception {
+    ElementBuilderFactory.setMetricsListener(new BuilderMetricsListener() {
+      @Override
+      public void onRender(BuilderMetrics metrics) {
+        reported.add(metrics);
+      }
+    });
+  }
+
+  @Override
+  protected void gwtTearDown() throws Exception {
+    ElementBuilderFactory.setMetricsListener(null);
+  }
+
+  private String renderTable(HtmlBuilderFactory factory) {
+    HtmlTableBuilder table = factory.createTableBuilder();
+    TableSectionBuilder tbody = table.startTBody();
+    for (int i = 0; i < 2; i++) {
+      TableRowBuilder tr = tbody.startTR();
+      tr.startTD().title("<" + i + ">").text("a & b").endTD();
+      TableCellBuilder td = tr.startTD();
+      td.style().trustedProperty("textAlign", "right").endStyle();
+      td.text(String.valueOf(i)).endTD();
+      tr.endTR();
+    }
+    ElementTemplate.start("tr").start("td").start("input").attribute("type", "checkbox").end()
+        .end().build().appendTo(tbody);
+    tbody.endTBody();
+    return table.asSafeHtml().asString();
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests for {@link ByteBufferHtmlBuilderFactory} and {@link ByteBufferPool}.
+ */
+public class ByteBufferHtmlBuilderFactoryTest extends GWTTestCase {
+
+  /**
+   * A {@link GatheringByteChannel} that writes at most a few bytes per call.
+   */
+  private static class SlowGatheringChannel implements GatheringByteChannel {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private int gatheringWrites;
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+      int count = Math.min(3, src.remaining());
+      for (int i = 0; i < count; i++) {
+        out.write(src.get());
+      }
+      return count;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs) {
+      return write(srcs, 0, srcs.length);
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) {
+      gatheringWrites++;
+      for (int i = offset; i < offset + length; i++) {
+        if (srcs[i].hasRemaining()) {
+          return write(srcs[i]);
+        }
+      }
+      return 0;
+    }
+  }
+
+  @Override
+  public String getModuleName() {
+    // JVM only.
+    return null;
+  }
+
+  public void testEncodesUtf8() {
+    String text = "caf\u00e9 \u20ac \ud83d\ude00 \ud800!";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteBufferHtmlBuilderFactory factory = ByteBufferHtmlBuilderFactory.create(
+        Channels.newChannel(out), ByteBufferPool.heap(4, 4), 1, 1);
+    factory.createDivBuilder().text(text).endDiv();
+
+    assertEquals("<div>caf\u00e9 \u20ac \ud83d\ude00 ?!</div>", new String(out.toByteArray(),
+        StandardCharsets.UTF_8));
+  }
+
+  public void testGatheringWrite() {
+    SlowGatheringChannel channel = new SlowGatheringChannel();
+    ByteBufferHtmlBuilderFactory factory =
+        ByteBufferHtmlBuilderFactory.create(channel, ByteBufferPool.direct(8, 4), 1024, 1);
+    HtmlDivBuilder expected = HtmlBuilderFactory.get().createDivBuilder();
+    HtmlDivBuilder actual = factory.createDivBuilder();
+    for (HtmlDivBuilder div : new HtmlDivBuilder[] {expected, actual}) {
+      div.className("row").title("\u00fcber");
+      div.startSpan().text("a < b").endSpan();
+      div.startBR().endBR();
+    }
+
+    String html = expected.asSafeHtml().asString();
+    actual.asSafeHtml();
+    assertEquals(html, new String(channel.out.toByteArray(), StandardCharsets.UTF_8));
+    assertTrue(channel.gatheringWrites > 1);
+  }
+
+  public void testPoolReusesBuffers() {
+    ByteBufferPool pool = ByteBufferPool.heap(16, 2);
+    ByteBuffer first = pool.acquire();
+    first.put((byte) 1);
+    pool.release(first);
+
+    ByteBuffer recycled = pool.acquire();
+    assertSame(first, recycled);
+    assertEquals(0, recycled.position());
+    assertEquals(16, recycled.remaining());
+
+    // Buffers of another size are not pooled.
+    pool.release(ByteBuffer.allocate(32));
+    assertEquals(16, pool.acquire().capacity());
+  }
+
+  public void testWrittenBuffersAreReleased() {
+    ByteBufferPool pool = ByteBufferPool.heap(64, 4);
+    ByteBuffer pooled = pool.acquire();
+    pool.release(pooled);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteBufferHtmlBuilderFactory factory = ByteBufferHtmlBuilderFactory.create(
+        Channels.newChannel(out), pool, StreamingHtmlBuilderFactory.DEFAULT_CHUNK_SIZE, 1);
+    factory.createSpanBuilder().text("released").endSpan();
+
+    assertEquals("<span>released</span>", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    assertSame(pooled, pool.acquire());
+  }
+}
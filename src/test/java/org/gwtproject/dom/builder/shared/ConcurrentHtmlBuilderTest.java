@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stress tests that render HTML from many threads at once.
+ */
+public class ConcurrentHtmlBuilderTest extends GWTTestCase {
+
+  private static final int ITERATIONS = 2000;
+  private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+  /**
+   * Render a row that exercises escaping, attributes and style property name
+   * conversion.
+   */
+  private static String renderRow(HtmlBuilderFactory factory, int row) {
+    HtmlTableRowBuilder tr = factory.createTRBuilder();
+    tr.className("row" + row);
+    TableCellBuilder td = tr.startTD();
+    td.style().trustedProperty("borderTopWidth", "1px").trustedProperty("marginLeft" + (row % 7),
+        "0").endStyle();
+    td.text("<" + row + ">").endTD();
+    return tr.asSafeHtml().asString();
+  }
+
+  private static String expectedRow(int row) {
+    return "<tr class=\"row" + row + "\"><td style=\"border-top-width:1px;margin-left" + (row % 7)
+        + ":0;\">&lt;" + row + "&gt;</td></tr>";
+  }
+
+  @Override
+  public String getModuleName() {
+    // JVM only.
+    return null;
+  }
+
+  public void testBoundedPool() throws Exception {
+    final PooledHtmlBuilderFactory factory = PooledHtmlBuilderFactory.bounded(THREADS / 2);
+    runConcurrently(new Callable<Void>() {
+      @Override
+      public Void call() {
+        for (int i = 0; i < ITERATIONS; i++) {
+          assertEquals(expectedRow(i), renderRow(factory, i));
+        }
+        return null;
+      }
+    });
+  }
+
+  public void testFactorySingletons() throws Exception {
+    final HtmlBuilderFactory html = HtmlBuilderFactory.get();
+    final ElementBuilderFactory element = ElementBuilderFactory.get();
+    runConcurrently(new Callable<Void>() {
+      @Override
+      public Void call() {
+        assertSame(html, HtmlBuilderFactory.get());
+        assertSame(element, ElementBuilderFactory.get());
+        return null;
+      }
+    });
+  }
+
+  public void testHyphenatedFormCache() throws Exception {
+    runConcurrently(new Callable<Void>() {
+      @Override
+      public Void call() {
+        for (int i = 0; i < ITERATIONS; i++) {
+          assertEquals("padding-left" + i, HtmlStylesBuilder.toHyphenatedForm("paddingLeft" + i));
+          assertEquals("border-top-width", HtmlStylesBuilder.toHyphenatedForm("borderTopWidth"));
+        }
+        return null;
+      }
+    });
+  }
+
+  public void testSharedFactory() throws Exception {
+    runConcurrently(new Callable<Void>() {
+      @Override
+      public Void call() {
+        for (int i = 0; i < ITERATIONS; i++) {
+          assertEquals(expectedRow(i), renderRow(HtmlBuilderFactory.get(), i));
+        }
+        return null;
+      }
+    });
+  }
+
+  /**
+   * Run a task on {@link #THREADS} threads, releasing them all at once, and
+   * rethrow the first failure.
+   */
+  private void runConcurrently(final Callable<Void> task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      final CountDownLatch start = new CountDownLatch(1);
+      List<Future<Void>> futures = new ArrayList<Future<Void>>();
+      for (int i = 0; i < THREADS; i++) {
+        futures.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            start.await();
+            return task.call();
+          }
+        }));
+      }
+      start.countDown();
+      for (Future<Void> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import org.gwtproject.safehtml.shared.SafeHtmlUtils;
+
+/**
+ * Tests for the HTML rendered by {@link ElementTemplate}.
+ */
+public class ElementTemplateTest extends GWTTestCase {
+
+  private static final ElementTemplate ROW = ElementTemplate.start("tr")
+      .attribute("class", "row")
+      .start("td").attributeHole("title").textHole().end()
+      .start("td").style("textAlign", "right").styleHole("width").htmlHole().end()
+      .start("td").start("input").attribute("type", "checkbox").end().end()
+      .build();
+
+  @Override
+  public String getModuleName() {
+    // JVM only.
+    return null;
+  }
+
+  public void testAppendToHtmlBuilder() {
+    HtmlTableSectionBuilder tbody = HtmlBuilderFactory.get().createTBodyBuilder();
+    tbody.id("body");
+    ROW.appendTo(tbody, "a", "1", "10px", SafeHtmlUtils.fromSafeConstant("<b>x</b>"));
+    TableRowBuilder tr = tbody.startTR();
+    tr.startTD().text("built").endTD();
+    tr.endTR();
+    ROW.appendTo(tbody, "b", "2", "20px", SafeHtmlUtils.EMPTY_SAFE_HTML);
+
+    assertEquals("<tbody id=\"body\">" + expectedRow("a", "1", "10px", "<b>x</b>")
+        + "<tr><td>built</td></tr>" + expectedRow("b", "2", "20px", "") + "</tbody>", tbody
+        .asSafeHtml().asString());
+  }
+
+  public void testAppendToLockedElement() {
+    HtmlDivBuilder div = HtmlBuilderFactory.get().createDivBuilder();
+    div.text("text");
+    try {
+      ROW.appendTo(div, "a", "1", "10px", SafeHtmlUtils.EMPTY_SAFE_HTML);
+      fail("Expected IllegalStateException: cannot append after text");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+  }
+
+  public void testBuildTwice() {
+    ElementTemplate.Recorder recorder = ElementTemplate.start("div").text("x");
+    recorder.build();
+    try {
+      recorder.build();
+      fail("Expected IllegalStateException: the template has already been built");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+  }
+
+  public void testMatchesBuilder() {
+    HtmlTableRowBuilder tr = HtmlBuilderFactory.get().createTRBuilder();
+    tr.className("row");
+    tr.startTD().title("<tip>").text("a & b").endTD();
+    TableCellBuilder td = tr.startTD();
+    td.style().trustedProperty("textAlign", "right").trustedProperty("width", "5em").endStyle();
+    td.html(SafeHtmlUtils.fromSafeConstant("<i>y</i>")).endTD();
+    tr.startTD().startCheckboxInput().endInput();
+    tr.endTD();
+
+    assertEquals(tr.asSafeHtml().asString(), ROW.toSafeHtml("<tip>", "a & b", "5em",
+        SafeHtmlUtils.fromSafeConstant("<i>y</i>")).asString());
+  }
+
+  public void testMatchesBuilderStyleEscaping() {
+    String font = "\"a&b\", serif";
+    HtmlDivBuilder div = HtmlBuilderFactory.get().createDivBuilder();
+    div.style().trustedProperty("fontFamily", font).trustedProperty("color", "red").endStyle();
+    div.endDiv();
+    ElementTemplate template = ElementTemplate.start("div").style("fontFamily", font)
+        .styleHole("color").build();
+
+    String expected = "<div style=\"font-family:&quot;a&amp;b&quot;, serif;color:red;\"></div>";
+    assertEquals(expected, div.asSafeHtml().asString());
+    assertEquals(expected, template.toSafeHtml("red").asString());
+  }
+
+  public void testRecorderChecks() {
+    try {
+      ElementTemplate.start("br").start("span");
+      fail("Expected UnsupportedOperationException: br does not support children");
+    } catch (UnsupportedOperationException e) {
+      // Expected.
+    }
+
+    try {
+      ElementTemplate.start("div").textHole().start("span");
+      fail("Expected IllegalStateException: cannot add an element after text");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+
+    try {
+      ElementTemplate.start("div").style("color", "red").attribute("id", "x").style("top", "0");
+      fail("Expected IllegalStateException: style properties must be added together");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+
+    try {
+      ElementTemplate.start("div").end().start("div");
+      fail("Expected IllegalStateException: only one top level element");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+
+    try {
+      ElementTemplate.start("<div");
+      fail("Expected IllegalArgumentException: invalid tag name");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+
+  public void testWrongNumberOfValues() {
+    assertEquals(4, ROW.getHoleCount());
+    try {
+      ROW.toSafeHtml("a", "b");
+      fail("Expected IllegalArgumentException: wrong number of values");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+
+    try {
+      ROW.toSafeHtml("a", "b", "c", "<not safe>");
+      fail("Expected IllegalArgumentException: html hole requires SafeHtml");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+
+  private String expectedRow(String title, String text, String width, String html) {
+    return "<tr class=\"row\"><td title=\"" + title + "\">" + text + "</td>"
+        + "<td style=\"text-align:right;width:" + width + ";\">" + html + "</td>"
+        + "<td><input type=\"checkbox\" /></td></tr>";
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import org.gwtproject.dom.builder.shared.ForkJoinHtmlBuilderFactory.SlotRenderer;
+import org.gwtproject.safehtml.shared.SafeHtml;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link ForkJoinHtmlBuilderFactory}.
+ */
+public class ForkJoinHtmlBuilderFactoryTest extends GWTTestCase {
+
+  /**
+   * A slot that renders a panel with a title and some rows.
+   */
+  private static class PanelRenderer implements SlotRenderer {
+    private final int index;
+
+    PanelRenderer(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public SafeHtml render(HtmlBuilderFactory factory) {
+      return renderPanel(factory, index);
+    }
+  }
+
+  private static SafeHtml renderPanel(HtmlBuilderFactory factory, int index) {
+    HtmlDivBuilder panel = factory.createDivBuilder();
+    panel.className("panel").startH2().text("Panel <" + index + ">").endH2();
+    for (int i = 0; i < 10; i++) {
+      panel.startParagraph().text("row " + i).endParagraph();
+    }
+    return panel.asSafeHtml();
+  }
+
+  @Override
+  public String getModuleName() {
+    // JVM only.
+    return null;
+  }
+
+  public void testExceptionIsRethrown() {
+    ForkJoinHtmlBuilderFactory factory = ForkJoinHtmlBuilderFactory.create();
+    HtmlDivBuilder page = factory.createDivBuilder();
+    factory.fork(page, new SlotRenderer() {
+      @Override
+      public SafeHtml render(HtmlBuilderFactory factory) {
+        throw new IllegalStateException("broken panel");
+      }
+    });
+    try {
+      page.asSafeHtml();
+      fail("Expected IllegalStateException thrown by the slot");
+    } catch (IllegalStateException e) {
+      // ForkJoinTask may wrap the exception in a new one of the same type.
+      assertTrue(e.getMessage().contains("broken panel"));
+    }
+  }
+
+  public void testForkChecksParent() {
+    ForkJoinHtmlBuilderFactory factory = ForkJoinHtmlBuilderFactory.create();
+    try {
+      factory.fork(HtmlBuilderFactory.get().createDivBuilder(), new PanelRenderer(0));
+      fail("Expected IllegalArgumentException: parent from another factory");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+
+    HtmlDivBuilder div = factory.createDivBuilder();
+    div.text("text");
+    try {
+      factory.fork(div, new PanelRenderer(0));
+      fail("Expected IllegalStateException: cannot add a slot after text");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+  }
+
+  public void testMatchesSequentialRender() {
+    ForkJoinHtmlBuilderFactory factory = ForkJoinHtmlBuilderFactory.create();
+    HtmlDivBuilder page = factory.createDivBuilder();
+    page.id("dashboard");
+    DivBuilder column = page.startDiv();
+    for (int i = 0; i < 8; i++) {
+      factory.fork(column, new PanelRenderer(i));
+    }
+    column.startSpan().text("footer").endSpan();
+    column.endDiv();
+    factory.fork(page, new PanelRenderer(8));
+
+    String expectedHtml = "<div id=\"dashboard\"><div>" + panels(0, 8)
+        + "<span>footer</span></div>" + panels(8, 9) + "</div>";
+    assertEquals(expectedHtml, page.asSafeHtml().asString());
+    assertEquals(expectedHtml.length(), page.getLength());
+  }
+
+  public void testNestedSlots() {
+    ForkJoinHtmlBuilderFactory factory = ForkJoinHtmlBuilderFactory.create();
+    HtmlDivBuilder page = factory.createDivBuilder();
+    for (int i = 0; i < 4; i++) {
+      final int first = i * 4;
+      factory.fork(page, new SlotRenderer() {
+        @Override
+        public SafeHtml render(HtmlBuilderFactory factory) {
+          HtmlDivBuilder group = factory.createDivBuilder();
+          for (int j = first; j < first + 4; j++) {
+            ((ForkJoinHtmlBuilderFactory) factory).fork(group, new PanelRenderer(j));
+          }
+          return group.asSafeHtml();
+        }
+      });
+    }
+
+    StringBuilder expected = new StringBuilder("<div>");
+    for (int i = 0; i < 4; i++) {
+      expected.append("<div>").append(panels(i * 4, i * 4 + 4)).append("</div>");
+    }
+    expected.append("</div>");
+    assertEquals(expected.toString(), page.asSafeHtml().asString());
+  }
+
+  public void testSlotsRunInParallel() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final CountDownLatch bothStarted = new CountDownLatch(2);
+      SlotRenderer renderer = new SlotRenderer() {
+        @Override
+        public SafeHtml render(HtmlBuilderFactory factory) {
+          bothStarted.countDown();
+          try {
+            assertTrue(bothStarted.await(10, TimeUnit.SECONDS));
+          } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+          }
+          return renderPanel(factory, 0);
+        }
+      };
+
+      ForkJoinHtmlBuilderFactory factory = ForkJoinHtmlBuilderFactory.create(executor);
+      HtmlDivBuilder page = factory.createDivBuilder();
+      factory.fork(page, renderer);
+      factory.fork(page, renderer);
+      assertEquals("<div>" + panels(0, 1) + panels(0, 1) + "</div>", page.asSafeHtml()
+          .asString());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Get the HTML of the panels in the specified range, rendered sequentially.
+   */
+  private String panels(int start, int end) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = start; i < end; i++) {
+      sb.append(renderPanel(HtmlBuilderFactory.get(), i).asString());
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import org.gwtproject.dom.builder.shared.FragmentCache.FragmentRenderer;
+import org.gwtproject.safehtml.shared.SafeHtml;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Tests for {@link FragmentCache}.
+ */
+public class FragmentCacheTest extends GWTTestCase {
+
+  /**
+   * Renders a span with fixed text and counts the renders.
+   */
+  private static class CountingRenderer implements FragmentRenderer {
+    private int count;
+    private final String text;
+
+    CountingRenderer(String text) {
+      this.text = text;
+    }
+
+    @Override
+    public SafeHtml render(HtmlBuilderFactory factory) {
+      count++;
+      HtmlSpanBuilder span = factory.createSpanBuilder();
+      span.text(text);
+      return span.asSafeHtml();
+    }
+  }
+
+  @Override
+  public String getModuleName() {
+    // JVM only.
+    return null;
+  }
+
+  public void testAppendTo() {
+    FragmentCache cache = new FragmentCache(1000);
+    CountingRenderer renderer = new CountingRenderer("a & b");
+    for (int i = 0; i < 2; i++) {
+      HtmlDivBuilder div = HtmlBuilderFactory.get().createDivBuilder();
+      cache.appendTo(div, "key", 1, renderer);
+      div.startBR().endBR();
+      assertEquals("<div><span>a &amp; b</span><br /></div>", div.asSafeHtml().asString());
+    }
+    assertEquals(1, renderer.count);
+  }
+
+  public void testAppendToLockedElement() {
+    HtmlDivBuilder div = HtmlBuilderFactory.get().createDivBuilder();
+    div.text("text");
+    try {
+      new FragmentCache(1000).appendTo(div, "key", 1, new CountingRenderer("x"));
+      fail("Expected IllegalStateException: cannot append after text");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+  }
+
+  public void testAppendToHydrationBuilder() {
+    HtmlDivBuilder div = HydrationHtmlBuilderFactory.get().createDivBuilder();
+    try {
+      new FragmentCache(1000).appendTo(div, "key", 1, new CountingRenderer("x"));
+      fail("Expected IllegalArgumentException: cached fragments have no hydration markers");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+
+  public void testHitsAndMisses() {
+    FragmentCache cache = new FragmentCache(1000);
+    CountingRenderer renderer = new CountingRenderer("x");
+    assertEquals("<span>x</span>", cache.get("key", 1, renderer).asString());
+    assertEquals("<span>x</span>", cache.get("key", 1, renderer).asString());
+    assertEquals(1, renderer.count);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals("<span>x</span>".length(), cache.getSize());
+
+    // A new version is rendered again and replaces the old one.
+    cache.get("key", 2, renderer);
+    assertEquals(2, renderer.count);
+    assertEquals(2, cache.getMissCount());
+    assertEquals("<span>x</span>".length(), cache.getSize());
+
+    cache.invalidate("key");
+    assertEquals(0, cache.getSize());
+    cache.get("key", 2, renderer);
+    assertEquals(3, renderer.count);
+    assertEquals(0, cache.getEvictionCount());
+  }
+
+  public void testLruEviction() {
+    // Each fragment is 14 characters, so three fit.
+    FragmentCache cache = new FragmentCache(42);
+    CountingRenderer a = new CountingRenderer("a");
+    CountingRenderer b = new CountingRenderer("b");
+    CountingRenderer c = new CountingRenderer("c");
+    CountingRenderer d = new CountingRenderer("d");
+    cache.get("a", 1, a);
+    cache.get("b", 1, b);
+    cache.get("c", 1, c);
+    cache.get("a", 1, a);
+    cache.get("d", 1, d);
+    assertEquals(1, cache.getEvictionCount());
+    assertEquals(42, cache.getSize());
+
+    // b was the least recently used.
+    cache.get("a", 1, a);
+    cache.get("c", 1, c);
+    cache.get("d", 1, d);
+    assertEquals(1, a.count);
+    assertEquals(1, c.count);
+    assertEquals(1, d.count);
+    cache.get("b", 1, b);
+    assertEquals(2, b.count);
+    assertEquals(2, cache.getEvictionCount());
+
+    // A fragment larger than the cache is returned but not kept.
+    CountingRenderer large = new CountingRenderer("0123456789012345678901234567890123456789");
+    assertEquals(53, cache.get("large", 1, large).asString().length());
+    assertEquals(0, cache.getSize());
+    cache.clear();
+    assertEquals(0, cache.getSize());
+  }
+
+  public void testNullVersion() {
+    FragmentCache cache = new FragmentCache(1000);
+    CountingRenderer renderer = new CountingRenderer("x");
+    cache.get("key", null, renderer);
+    cache.get("key", null, renderer);
+    assertEquals(1, renderer.count);
+    assertEquals(1, cache.getHitCount());
+
+    // A null version differs from any other version.
+    cache.get("key", 1, renderer);
+    cache.get("key", null, renderer);
+    assertEquals(3, renderer.count);
+    assertEquals(3, cache.getMissCount());
+  }
+
+  public void testUtf8() {
+    FragmentCache cache = new FragmentCache(1000);
+    CountingRenderer renderer = new CountingRenderer("caf\u00e9");
+    byte[] utf8 = cache.getUtf8("key", 1, renderer);
+    assertTrue(Arrays.equals("<span>caf\u00e9</span>".getBytes(StandardCharsets.UTF_8), utf8));
+    assertSame(utf8, cache.getUtf8("key", 1, renderer));
+    assertEquals(1, renderer.count);
+    assertEquals(17 + 18, cache.getSize());
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import org.gwtproject.dom.builder.shared.AdaptiveElementBuilderFactory.Strategy;
+import org.gwtproject.dom.client.Element;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gwt tests for {@link AdaptiveElementBuilderFactory}.
+ */
+public class GwtAdaptiveElementBuilderFactoryTest extends GWTTestCase {
+
+  private static final int CALIBRATION_BUILDS =
+      2 * AdaptiveElementBuilderFactory.CALIBRATION_SAMPLES;
+
+  @Override
+  public String getModuleName() {
+    return ElementBuilderTestBase.GWT_MODULE_NAME;
+  }
+
+  public void testCalibration() {
+    AdaptiveElementBuilderFactory factory = new AdaptiveElementBuilderFactory();
+    assertNull(factory.getStrategy("div"));
+
+    for (int i = 0; i < CALIBRATION_BUILDS; i++) {
+      DivBuilder div = factory.createDivBuilder().id("div" + i);
+      div.startSpan().text("text").endSpan();
+      Element element = div.finish();
+      assertTrue("div".equalsIgnoreCase(element.getTagName()));
+      assertEquals("div" + i, element.getId());
+      assertEquals("text", element.getInnerText());
+    }
+
+    int samples = AdaptiveElementBuilderFactory.CALIBRATION_SAMPLES;
+    assertEquals(samples, factory.getSampleCount("div", Strategy.DOM));
+    assertEquals(samples, factory.getSampleCount("div", Strategy.HTML));
+    assertNotNull(factory.getStrategy("div"));
+    assertEquals(0, factory.getSampleCount("span", Strategy.DOM));
+  }
+
+  public void testReportsStrategyInMetrics() {
+    final List<BuilderMetrics> reported = new ArrayList<BuilderMetrics>();
+    ElementBuilderFactory.setMetricsListener(new BuilderMetricsListener() {
+      @Override
+      public void onRender(BuilderMetrics metrics) {
+        reported.add(metrics);
+      }
+    });
+    try {
+      AdaptiveElementBuilderFactory factory = new AdaptiveElementBuilderFactory();
+      factory.setStrategy("div", Strategy.HTML);
+      factory.createDivBuilder().finish();
+      factory.setStrategy("div", Strategy.DOM);
+      factory.createDivBuilder().finish();
+    } finally {
+      ElementBuilderFactory.setMetricsListener(null);
+    }
+
+    assertEquals(2, reported.size());
+    assertEquals("HTML", reported.get(0).getStrategy());
+    assertEquals("DOM", reported.get(1).getStrategy());
+    assertEquals(1, reported.get(1).getElementCount());
+  }
+
+  public void testSetStrategy() {
+    AdaptiveElementBuilderFactory factory = new AdaptiveElementBuilderFactory();
+    factory.setStrategy("tr", Strategy.HTML);
+    assertEquals(Strategy.HTML, factory.getStrategy("tr"));
+
+    for (int i = 0; i < CALIBRATION_BUILDS; i++) {
+      TableRowBuilder tr = factory.createTRBuilder();
+      tr.startTD().text("cell").endTD();
+      tr.finish();
+    }
+    assertEquals(CALIBRATION_BUILDS, factory.getSampleCount("tr", Strategy.HTML));
+    assertEquals(0, factory.getSampleCount("tr", Strategy.DOM));
+
+    // Measure both strategies again.
+    factory.setStrategy("tr", null);
+    assertNull(factory.getStrategy("tr"));
+    factory.createTRBuilder().finish();
+    assertEquals(1, factory.getSampleCount("tr", Strategy.DOM));
+  }
+}
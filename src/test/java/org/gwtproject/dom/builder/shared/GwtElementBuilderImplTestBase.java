@@ -77,6 +77,35 @@ public abstract class GwtElementBuilderImplTestBase extends GWTTestCase {
     }
   }
 
+  /**
+   * Nest elements deeper than the initial capacity of the element stack, then
+   * reuse it for siblings.
+   */
+  public void testDeepNesting() {
+    int depth = 100;
+    DivBuilder root = factory.createDivBuilder();
+    ElementBuilderBase<?> current = root;
+    for (int i = 1; i < depth; i++) {
+      current = (i % 2 == 0) ? current.startDiv() : current.startSpan();
+      assertEquals(i + 1, current.getDepth());
+    }
+    current.text("leaf");
+    for (int i = depth - 1; i > 0; i--) {
+      current.end((i % 2 == 0) ? "div" : "span");
+      assertEquals(i, current.getDepth());
+    }
+    root.startSpan().text("sibling").endSpan();
+    Element div = root.finish();
+
+    Element element = div;
+    for (int i = 1; i < depth; i++) {
+      element = element.getFirstChildElement();
+      assertTrue(((i % 2 == 0) ? "div" : "span").equalsIgnoreCase(element.getTagName()));
+    }
+    assertEquals("leaf", element.getInnerText());
+    assertEquals("sibling", div.getFirstChildElement().getNextSiblingElement().getInnerText());
+  }
+
   public void testFinishTwice() {
     DivBuilder builder = factory.createDivBuilder();
     assertNotNull(builder.finish());
@@ -201,6 +230,48 @@ public abstract class GwtElementBuilderImplTestBase extends GWTTestCase {
     assertEquals("absolute", div.getStyle().getPosition());
   }
 
+  public void testTemplateAppendTo() {
+    ElementTemplate row = ElementTemplate.start("tr").attributeHole("id")
+        .start("td").textHole().end()
+        .start("td").styleHole("color").text("fixed").end()
+        .build();
+
+    TableBuilder tableBuilder = factory.createTableBuilder();
+    TableSectionBuilder tbody = tableBuilder.startTBody();
+    for (int r = 0; r < 3; r++) {
+      row.appendTo(tbody, "row" + r, "value" + r, "red");
+    }
+    tbody.endTBody();
+
+    TableElement table = tableBuilder.finish().cast();
+    assertEquals(3, table.getRows().getLength());
+    for (int r = 0; r < 3; r++) {
+      TableRowElement tr = table.getRows().getItem(r);
+      assertEquals("row" + r, tr.getId());
+      assertEquals("value" + r, tr.getCells().getItem(0).getInnerText());
+      assertEquals("fixed", tr.getCells().getItem(1).getInnerText());
+      assertEquals("red", tr.getCells().getItem(1).getStyle().getColor());
+    }
+  }
+
+  public void testTemplateFinish() {
+    ElementTemplate template = ElementTemplate.start("div").attribute("id", "root")
+        .start("span").textHole().end()
+        .start("br").end()
+        .start("div").attributeHole("title").end()
+        .build();
+
+    Element div = template.finish(factory, "hello world", "myTitle");
+    assertTrue("div".equalsIgnoreCase(div.getTagName()));
+    assertEquals("root", div.getId());
+    assertEquals(3, div.getChildCount());
+    Element span = div.getFirstChildElement();
+    assertEquals("hello world", span.getInnerText());
+    Element br = span.getNextSiblingElement();
+    assertTrue("br".equalsIgnoreCase(br.getTagName()));
+    assertEquals("myTitle", br.getNextSiblingElement().getTitle());
+  }
+
   public void testTrustedStart() {
     {
       DivBuilder div = factory.createDivBuilder();
@@ -209,6 +280,7 @@ public abstract class GwtElementBuilderImplTestBase extends GWTTestCase {
       div.trustedStart("camelCase");
       div.trustedStart("containsNumber0");
       div.trustedStart("a");
+      div.trustedStart("lowercase");
     }
 
     // Empty tagName.
@@ -227,6 +299,17 @@ public abstract class GwtElementBuilderImplTestBase extends GWTTestCase {
     } catch (IllegalArgumentException e) {
       // Expected.
     }
+
+    String[] invalid = {"0startsWithNumber", "contains-dash", "contains space", "caf\u00e9"};
+    for (String tagName : invalid) {
+      try {
+        DivBuilder div = factory.createDivBuilder();
+        div.trustedStart(tagName);
+        fail("Expected IllegalArgumentException: " + tagName + " is not a valid tag name");
+      } catch (IllegalArgumentException e) {
+        // Expected.
+      }
+    }
   }
 
   /**
@@ -15,11 +15,94 @@
  */
 package org.gwtproject.dom.builder.shared;
 
+import org.gwtproject.dom.client.Document;
+import org.gwtproject.dom.client.DocumentFragment;
+import org.gwtproject.dom.client.Element;
+import org.gwtproject.dom.client.TableSectionElement;
+import org.gwtproject.safehtml.shared.SafeHtmlUtils;
+
 /**
  * Tests for {@link HtmlBuilderImpl}.
  */
 public class GwtHtmlBuilderImplTest extends GwtElementBuilderImplTestBase {
 
+  public void testEscapeAttributeValue() {
+    HtmlDivBuilder div = HtmlBuilderFactory.get().createDivBuilder();
+    div.title("\"quoted\" & 'single'").id("plain");
+    assertEquals("<div title=\"&quot;quoted&quot; &amp; &#39;single&#39;\" id=\"plain\"></div>",
+        div.asSafeHtml().asString());
+  }
+
+  public void testEscapeText() {
+    String[] values = {"", "plain", "<", "a<b>c", "&&", "<b>bold</b> & 'more'", "caf\u00e9 >"};
+    for (String value : values) {
+      HtmlSpanBuilder span = HtmlBuilderFactory.get().createSpanBuilder();
+      span.text(value);
+      assertEquals("<span>" + SafeHtmlUtils.htmlEscape(value) + "</span>", span.asSafeHtml()
+          .asString());
+    }
+  }
+
+  /**
+   * Elements that are only valid in a table are kept when finished on their
+   * own.
+   */
+  public void testFinishTableElements() {
+    HtmlTableRowBuilder tr = HtmlBuilderFactory.get().createTRBuilder();
+    tr.startTD().text("cell").endTD();
+    Element row = tr.finish();
+    assertTrue("tr".equalsIgnoreCase(row.getTagName()));
+    assertNull(row.getParentElement());
+    assertEquals("cell", row.getInnerText());
+
+    HtmlTableCellBuilder td = HtmlBuilderFactory.get().createTDBuilder();
+    td.text("alone");
+    assertTrue("td".equalsIgnoreCase(td.finish().getTagName()));
+  }
+
+  public void testFragmentFinish() {
+    HtmlFragmentBuilder fragment = HtmlFragmentBuilder.create();
+    for (int i = 0; i < 3; i++) {
+      HtmlTableRowBuilder tr = fragment.createTRBuilder();
+      tr.startTD().text("cell" + i).endTD();
+      tr.endTR();
+    }
+    TableSectionElement tbody = Document.get().createTBodyElement();
+    fragment.appendTo(tbody);
+    assertEquals(3, tbody.getRows().getLength());
+    assertEquals("cell2", tbody.getRows().getItem(2).getInnerText());
+  }
+
+  public void testFragmentFinishTwice() {
+    HtmlFragmentBuilder first = HtmlFragmentBuilder.create();
+    first.createDivBuilder().text("a").endDiv();
+    HtmlFragmentBuilder second = HtmlFragmentBuilder.create();
+    second.createSpanBuilder().text("b").endSpan();
+
+    // The parse template is reused, so each fragment must keep its own nodes.
+    DocumentFragment a = first.finish();
+    DocumentFragment b = second.finish();
+    assertEquals(1, a.getChildCount());
+    assertEquals("a", Element.as(a.getFirstChild()).getInnerText());
+    assertEquals(1, b.getChildCount());
+    assertEquals("b", Element.as(b.getFirstChild()).getInnerText());
+  }
+
+  public void testTemplateFinishTableRowAndOption() {
+    ElementTemplate row = ElementTemplate.start("tr").start("td").textHole().build();
+    Element tr = row.finish(HtmlBuilderFactory.get(), "cell");
+    assertTrue("tr".equalsIgnoreCase(tr.getTagName()));
+    assertEquals("cell", tr.getFirstChildElement().getInnerText());
+    assertNull(tr.getParentElement());
+
+    ElementTemplate option = ElementTemplate.start("option").attributeHole("value").textHole()
+        .build();
+    Element element = option.finish(HtmlBuilderFactory.get(), "1", "One");
+    assertTrue("option".equalsIgnoreCase(element.getTagName()));
+    assertEquals("1", element.getAttribute("value"));
+    assertEquals("One", element.getInnerText());
+  }
+
   @Override
   protected ElementBuilderFactory getElementBuilderFactory() {
     return HtmlBuilderFactory.get();
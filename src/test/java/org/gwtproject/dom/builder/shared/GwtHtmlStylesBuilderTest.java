@@ -28,6 +28,9 @@ public class GwtHtmlStylesBuilderTest extends GwtStylesBuilderTestBase {
     assertEquals("already-hyphenated", HtmlStylesBuilder.toHyphenatedForm("already-hyphenated"));
     assertEquals("already-hyphenated-twice", HtmlStylesBuilder
         .toHyphenatedForm("already-hyphenated-twice"));
+    assertEquals("float", HtmlStylesBuilder.toHyphenatedForm("cssFloat"));
+    assertEquals("list-style-type", HtmlStylesBuilder.toHyphenatedForm("listStyleType"));
+    assertEquals("z-index", HtmlStylesBuilder.toHyphenatedForm("zIndex"));
   }
 
   @Override
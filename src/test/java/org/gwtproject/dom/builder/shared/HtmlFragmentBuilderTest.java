@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+/**
+ * Tests for the HTML rendered by {@link HtmlFragmentBuilder}.
+ */
+public class HtmlFragmentBuilderTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    // JVM only.
+    return null;
+  }
+
+  public void testCreateChildren() {
+    HtmlDivBuilder parent = HtmlBuilderFactory.get().createDivBuilder();
+    HtmlFragmentBuilder children = HtmlFragmentBuilder.createChildren(parent.getDelegate());
+    assertNull(children.getOpenBuilder());
+
+    // The next element is a child of the open span, not a new top level element.
+    HtmlSpanBuilder span = children.createSpanBuilder();
+    assertSame(span, children.getOpenBuilder());
+    children.createDivBuilder().text("a").endDiv();
+    span.end();
+    assertNull(children.getOpenBuilder());
+    children.createSpanBuilder().text("b");
+
+    // Once the children are ended, their builders end the parent.
+    span.end();
+    span.end();
+    assertEquals(0, parent.getDepth());
+    assertEquals("<span><div>a</div></span><span>b</span>", children.asSafeHtml().asString());
+    assertEquals("<div></div>", parent.asSafeHtml().asString());
+
+    try {
+      children.createSpanBuilder();
+      fail("Expected IllegalStateException: the parent has been ended");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+  }
+
+  public void testCreateChildrenChecksParent() {
+    HtmlDivBuilder parent = HtmlBuilderFactory.get().createDivBuilder();
+    parent.text("text");
+    HtmlFragmentBuilder children = HtmlFragmentBuilder.createChildren(parent.getDelegate());
+    try {
+      children.createSpanBuilder();
+      fail("Expected IllegalStateException: cannot append an element after text");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+  }
+
+  public void testCreateRejectsOtherFactories() {
+    HtmlBuilderFactory[] factories = {
+        StreamingHtmlBuilderFactory.create(new StringBuilder()),
+        PooledHtmlBuilderFactory.bounded(1)};
+    for (HtmlBuilderFactory factory : factories) {
+      try {
+        HtmlFragmentBuilder.create(factory);
+        fail("Expected IllegalArgumentException: " + factory.getClass().getName());
+      } catch (IllegalArgumentException e) {
+        // Expected.
+      }
+    }
+  }
+
+  public void testEmpty() {
+    assertEquals("", HtmlFragmentBuilder.create().asSafeHtml().asString());
+  }
+
+  public void testEndsOpenElements() {
+    HtmlFragmentBuilder fragment = HtmlFragmentBuilder.create();
+    fragment.createDivBuilder().startSpan().text("a");
+    fragment.createDivBuilder().text("b");
+    assertEquals("<div><span>a</span></div><div>b</div>", fragment.asSafeHtml().asString());
+  }
+
+  public void testMultipleRoots() {
+    HtmlFragmentBuilder fragment = HtmlFragmentBuilder.create();
+    for (int i = 0; i < 3; i++) {
+      fragment.createLIBuilder().className("item").text("<" + i + ">").endLI();
+    }
+    String expected = "<li class=\"item\">&lt;0&gt;</li><li class=\"item\">&lt;1&gt;</li>"
+        + "<li class=\"item\">&lt;2&gt;</li>";
+    assertEquals(expected.length(), fragment.getLength());
+    assertEquals(expected, fragment.asSafeHtml().asString());
+  }
+
+  public void testStillChecksEachRoot() {
+    HtmlFragmentBuilder fragment = HtmlFragmentBuilder.create();
+    HtmlDivBuilder div = fragment.createDivBuilder();
+    div.text("a");
+    try {
+      div.startSpan();
+      fail("Expected IllegalStateException: cannot append an element after text");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+  }
+
+  public void testTableRows() {
+    HtmlFragmentBuilder fragment = HtmlFragmentBuilder.create(UncheckedHtmlBuilderFactory.get());
+    for (int i = 0; i < 2; i++) {
+      HtmlTableRowBuilder tr = fragment.createTRBuilder();
+      tr.startTD().text(String.valueOf(i)).endTD();
+      tr.endTR();
+    }
+    assertEquals("<tr><td>0</td></tr><tr><td>1</td></tr>", fragment.asSafeHtml().asString());
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import org.gwtproject.dom.client.CssNumberFormat;
+import org.gwtproject.dom.style.shared.Unit;
+
+/**
+ * Tests for the style property names and numeric values written by
+ * {@link HtmlStylesBuilder}.
+ */
+public class HtmlStylesBuilderTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    // JVM only.
+    return null;
+  }
+
+  public void testFormat() {
+    assertFormat("0", 0);
+    assertFormat("0", -0.0);
+    assertFormat("10", 10);
+    assertFormat("-10", -10.0);
+    assertFormat("0.5", 0.5);
+    assertFormat("-0.5", -0.5);
+    assertFormat("1.05", 1.05);
+    assertFormat("0.3", 0.1 + 0.2);
+    assertFormat("33.3333", 100.0 / 3);
+    assertFormat("1", 0.99999);
+    assertFormat("0", 0.00001);
+    assertFormat("2147483647", Integer.MAX_VALUE);
+    assertFormat("NaN", Double.NaN);
+    assertFormat("Infinity", Double.POSITIVE_INFINITY);
+    assertFormat(String.valueOf(1e12 + 0.5), 1e12 + 0.5);
+    assertEquals("12.5em", CssNumberFormat.format(12.5, Unit.EM));
+  }
+
+  public void testKnownPropertyNames() {
+    HtmlDivBuilder div = HtmlBuilderFactory.get().createDivBuilder();
+    div.style().trustedProperty("cssFloat", "left").trustedProperty("zIndex", "2")
+        .trustedProperty("customName", "x").endStyle();
+    assertEquals("<div style=\"float:left;z-index:2;custom-name:x;\"></div>", div.asSafeHtml()
+        .asString());
+  }
+
+  public void testNumericProperties() {
+    HtmlDivBuilder div = HtmlBuilderFactory.get().createDivBuilder();
+    div.style().width(100, Unit.PX).height(12.5, Unit.EM).marginLeft(-1.0 / 3, Unit.PCT)
+        .trustedProperty("borderTopWidth", 2, Unit.PX).endStyle();
+    assertEquals("<div style=\"width:100px;height:12.5em;margin-left:-0.3333%;"
+        + "border-top-width:2px;\"></div>", div.asSafeHtml().asString());
+  }
+
+  private void assertFormat(String expected, double value) {
+    assertEquals(expected, CssNumberFormat.append(new StringBuilder(), value).toString());
+  }
+}
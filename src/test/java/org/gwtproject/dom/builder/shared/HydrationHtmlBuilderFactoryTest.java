@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import org.gwtproject.safehtml.shared.SafeHtmlUtils;
+
+/**
+ * Tests for {@link HydrationHtmlBuilderFactory}.
+ */
+public class HydrationHtmlBuilderFactoryTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    // JVM only.
+    return null;
+  }
+
+  public void testMarkersInDocumentOrder() {
+    HtmlDivBuilder div = HydrationHtmlBuilderFactory.get().createDivBuilder();
+    div.id("view").startSpan().text("a").endSpan();
+    div.startDiv().html(SafeHtmlUtils.fromSafeConstant("<b>raw</b>")).endDiv();
+    div.startUList().startLI().text("b").endLI();
+    div.endUList();
+    div.startBR().endBR();
+
+    assertEquals("<div data-h=\"0\" id=\"view\"><span data-h=\"1\">a</span>"
+        + "<div data-h=\"2\"><b>raw</b></div><ul data-h=\"3\"><li data-h=\"4\">b</li></ul>"
+        + "<br data-h=\"5\" /></div>", div.asSafeHtml().asString());
+  }
+
+  public void testMarkersRestartForEachElement() {
+    HtmlBuilderFactory factory = HydrationHtmlBuilderFactory.get();
+    for (int i = 0; i < 2; i++) {
+      HtmlSpanBuilder span = factory.createSpanBuilder();
+      span.startSpan().endSpan();
+      assertEquals("<span data-h=\"0\"><span data-h=\"1\"></span></span>", span.asSafeHtml()
+          .asString());
+    }
+  }
+
+  public void testTemplatesAreMarked() {
+    ElementTemplate template = ElementTemplate.start("li").start("span").textHole().end().build();
+    HtmlUListBuilder ul = HydrationHtmlBuilderFactory.get().createUListBuilder();
+    template.appendTo(ul, "a");
+    ul.startLI().text("b").endLI();
+    template.appendTo(ul, "c");
+
+    assertEquals("<ul data-h=\"0\"><li data-h=\"1\"><span data-h=\"2\">a</span></li>"
+        + "<li data-h=\"3\">b</li><li data-h=\"4\"><span data-h=\"5\">c</span></li></ul>", ul
+        .asSafeHtml().asString());
+    assertEquals("<ul><li><span>a</span></li></ul>", unmarked(template));
+  }
+
+  /**
+   * Render a template in a list with the default factory.
+   */
+  private String unmarked(ElementTemplate template) {
+    HtmlUListBuilder ul = HtmlBuilderFactory.get().createUListBuilder();
+    template.appendTo(ul, "a");
+    return ul.asSafeHtml().asString();
+  }
+}
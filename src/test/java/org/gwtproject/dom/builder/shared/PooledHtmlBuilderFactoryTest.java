@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+/**
+ * Tests for {@link PooledHtmlBuilderFactory}.
+ */
+public class PooledHtmlBuilderFactoryTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    // JVM only.
+    return null;
+  }
+
+  public void testBoundedPoolDropsExtraBuffers() {
+    PooledHtmlBuilderFactory factory = PooledHtmlBuilderFactory.bounded(1);
+    HtmlDivBuilder first = factory.createDivBuilder();
+    HtmlDivBuilder second = factory.createDivBuilder();
+    StringBuilder firstBuffer = first.getDelegate().buffer();
+    StringBuilder secondBuffer = second.getDelegate().buffer();
+    assertNotSame(firstBuffer, secondBuffer);
+
+    first.asSafeHtml();
+    second.asSafeHtml(); // Dropped, the pool only holds one buffer.
+
+    assertSame(firstBuffer, factory.createDivBuilder().getDelegate().buffer());
+    assertNotSame(secondBuffer, factory.createDivBuilder().getDelegate().buffer());
+  }
+
+  public void testLargeBuffersAreNotRetained() {
+    PooledHtmlBuilderFactory factory = PooledHtmlBuilderFactory.perThread(4, 64);
+    HtmlDivBuilder div = factory.createDivBuilder();
+    StringBuilder buffer = div.getDelegate().buffer();
+    div.text("this text is long enough to grow the buffer beyond the retained capacity");
+    div.asSafeHtml();
+
+    assertNotSame(buffer, factory.createDivBuilder().getDelegate().buffer());
+  }
+
+  public void testNestedBuildersAreDistinct() {
+    PooledHtmlBuilderFactory factory = PooledHtmlBuilderFactory.perThread();
+    HtmlDivBuilder outer = factory.createDivBuilder();
+
+    // Render the content with a second builder while the outer div is open.
+    HtmlDivBuilder inner = factory.createDivBuilder();
+    inner.text("inner");
+    assertNotSame(outer.getDelegate().buffer(), inner.getDelegate().buffer());
+    outer.html(inner.asSafeHtml());
+
+    assertEquals("<div><div>inner</div></div>", outer.asSafeHtml().asString());
+  }
+
+  public void testRecycledBufferIsCleared() {
+    PooledHtmlBuilderFactory factory = PooledHtmlBuilderFactory.perThread();
+    HtmlDivBuilder div = factory.createDivBuilder();
+    StringBuilder buffer = div.getDelegate().buffer();
+    div.id("first");
+    div.style().trustedColor("red");
+    div.startSpan().text("unfinished");
+    assertEquals("<div id=\"first\" style=\"color:red;\"><span>unfinished</span></div>", div
+        .asSafeHtml().asString());
+
+    HtmlDivBuilder recycled = factory.createDivBuilder();
+    assertSame(buffer, recycled.getDelegate().buffer());
+    assertEquals(1, recycled.getDepth());
+    recycled.style().trustedColor("blue").endStyle();
+    assertEquals("<div style=\"color:blue;\"></div>", recycled.asSafeHtml().asString());
+  }
+
+  public void testUseAfterRelease() {
+    PooledHtmlBuilderFactory factory = PooledHtmlBuilderFactory.bounded(1);
+    HtmlDivBuilder div = factory.createDivBuilder();
+    SpanBuilder span = div.startSpan();
+    span.text("released");
+    div.asSafeHtml();
+
+    // Another caller picks up the same buffer.
+    HtmlDivBuilder other = factory.createDivBuilder();
+    assertSame(div.getDelegate().buffer(), other.getDelegate().buffer());
+    other.id("other");
+
+    try {
+      div.asSafeHtml();
+      fail("Expected IllegalStateException: builder already released");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+    try {
+      div.id("stale");
+      fail("Expected IllegalStateException: builder already released");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+    try {
+      div.startSpan();
+      fail("Expected IllegalStateException: builder already released");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+    try {
+      span.end();
+      fail("Expected IllegalStateException: builder already released");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+    try {
+      span.text("stale");
+      fail("Expected IllegalStateException: builder already released");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+
+    assertEquals("<div id=\"other\"></div>", other.asSafeHtml().asString());
+  }
+}
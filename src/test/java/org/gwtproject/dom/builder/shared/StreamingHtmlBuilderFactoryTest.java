@@ -0,0 +1,289 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import org.gwtproject.dom.builder.shared.StreamingHtmlBuilderFactory.DeferredRenderer;
+import org.gwtproject.safehtml.shared.SafeHtml;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tests for {@link StreamingHtmlBuilderFactory}.
+ */
+public class StreamingHtmlBuilderFactoryTest extends GWTTestCase {
+
+  /**
+   * A {@link StringWriter} that counts how many times it is flushed.
+   */
+  private static class CountingWriter extends StringWriter {
+    private int flushCount;
+
+    @Override
+    public void flush() {
+      flushCount++;
+      super.flush();
+    }
+  }
+
+  /**
+   * Renders the data of a deferred region in a span.
+   */
+  private static final DeferredRenderer<String> SPAN_RENDERER = new DeferredRenderer<String>() {
+    @Override
+    public SafeHtml render(HtmlBuilderFactory factory, String data) {
+      HtmlSpanBuilder span = factory.createSpanBuilder();
+      span.text(data);
+      return span.asSafeHtml();
+    }
+  };
+
+  /**
+   * The HTML written when a deferred region completes.
+   */
+  private static String swap(int index, String html) {
+    String id = StreamingHtmlBuilderFactory.DEFERRED_ID_PREFIX + index;
+    return "<template id=\"" + id + "-content\">" + html + "</template>"
+        + "<script>(function(){var d=document,p=d.getElementById(\"" + id
+        + "\"),c=d.getElementById(\"" + id + "-content\");p.parentNode.replaceChild(c.content,p);"
+        + "c.parentNode.removeChild(c);})();</script>";
+  }
+
+  /**
+   * The placeholder written for a deferred region.
+   */
+  private static String placeholder(int index) {
+    return "<template id=\"" + StreamingHtmlBuilderFactory.DEFERRED_ID_PREFIX + index
+        + "\"></template>";
+  }
+
+  @Override
+  public String getModuleName() {
+    // JVM only.
+    return null;
+  }
+
+  public void testAsSafeHtmlEndsOpenElements() {
+    StringBuilder out = new StringBuilder();
+    HtmlDivBuilder div = StreamingHtmlBuilderFactory.create(out).createDivBuilder();
+    div.startSpan().text("open");
+
+    assertEquals("", div.asSafeHtml().asString());
+    assertEquals("<div><span>open</span></div>", out.toString());
+  }
+
+  public void testChunkWrittenAtElementBoundary() {
+    CountingWriter out = new CountingWriter();
+    StreamingHtmlBuilderFactory factory = StreamingHtmlBuilderFactory.create(out, 16, 1);
+    TableBuilder table = factory.createTableBuilder();
+    TableSectionBuilder tbody = table.startTBody();
+    tbody.startTR().startTD().text("a").endTD();
+    assertEquals("<table><tbody><tr><td>a</td>", out.toString());
+    assertEquals(0, out.flushCount);
+
+    tbody.startTD().text("b");
+    assertEquals("<table><tbody><tr><td>a</td>", out.toString());
+
+    tbody.endTD();
+    tbody.endTR();
+    table.endTBody();
+    table.endTable();
+    assertEquals("<table><tbody><tr><td>a</td><td>b</td></tr></tbody></table>", out.toString());
+    assertEquals(1, out.flushCount);
+  }
+
+  public void testDeferredChecks() throws Exception {
+    StreamingHtmlBuilderFactory factory = StreamingHtmlBuilderFactory.create(new StringBuilder());
+    CompletableFuture<String> data = new CompletableFuture<String>();
+    try {
+      factory.defer(HtmlBuilderFactory.get().createDivBuilder(), data, SPAN_RENDERER);
+      fail("Expected IllegalArgumentException: parent from another factory");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+
+    HtmlDivBuilder div = factory.createDivBuilder();
+    div.text("text");
+    try {
+      factory.defer(div, data, SPAN_RENDERER);
+      fail("Expected IllegalStateException: cannot add a region after text");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+
+    try {
+      factory.awaitDeferred();
+      fail("Expected IllegalStateException: the div is still open");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+    div.endDiv();
+    factory.awaitDeferred();
+  }
+
+  public void testDeferredFailure() throws Exception {
+    StringBuilder out = new StringBuilder();
+    StreamingHtmlBuilderFactory factory = StreamingHtmlBuilderFactory.create(out);
+    CompletableFuture<String> failed = new CompletableFuture<String>();
+    CompletableFuture<String> ok = new CompletableFuture<String>();
+    HtmlDivBuilder div = factory.createDivBuilder();
+    factory.defer(div, failed, SPAN_RENDERER);
+    factory.defer(div, ok, SPAN_RENDERER);
+    div.endDiv();
+
+    failed.completeExceptionally(new IOException("backend down"));
+    ok.complete("ok");
+    try {
+      factory.awaitDeferred();
+      fail("Expected IllegalStateException: region failed");
+    } catch (IllegalStateException e) {
+      assertEquals("backend down", e.getCause().getMessage());
+    }
+    assertEquals("<div>" + placeholder(0) + placeholder(1) + "</div>"
+        + swap(1, "<span>ok</span>"), out.toString());
+  }
+
+  public void testDeferredRegionsWrittenInCompletionOrder() throws Exception {
+    CountingWriter out = new CountingWriter();
+    StreamingHtmlBuilderFactory factory = StreamingHtmlBuilderFactory.create(out);
+    CompletableFuture<String> slow = new CompletableFuture<String>();
+    CompletableFuture<String> fast = new CompletableFuture<String>();
+    HtmlTableBuilder table = factory.createTableBuilder();
+    TableRowBuilder tr = table.startTBody().startTR();
+    factory.defer(tr, slow, SPAN_RENDERER);
+    factory.defer(tr, fast, SPAN_RENDERER);
+    tr.startTD().text("static").endTD();
+    table.asSafeHtml();
+
+    String document = "<table><tbody><tr>" + placeholder(0) + placeholder(1)
+        + "<td>static</td></tr></tbody></table>";
+    assertEquals(document, out.toString());
+
+    fast.complete("fast & first");
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        slow.complete("slow");
+      }
+    }).start();
+    factory.awaitDeferred();
+    assertEquals(document + swap(1, "<span>fast &amp; first</span>") + swap(0,
+        "<span>slow</span>"), out.toString());
+    assertEquals(3, out.flushCount);
+  }
+
+  public void testDeferredRegionWrittenAfterTopLevelElement() throws Exception {
+    StringBuilder out = new StringBuilder();
+    StreamingHtmlBuilderFactory factory = StreamingHtmlBuilderFactory.create(out);
+    HtmlDivBuilder header = factory.createDivBuilder();
+    factory.defer(header, CompletableFuture.completedFuture("ready"), SPAN_RENDERER);
+    header.endDiv();
+    assertEquals("<div>" + placeholder(0) + "</div>" + swap(0, "<span>ready</span>"), out
+        .toString());
+
+    factory.createDivBuilder().text("body").endDiv();
+    factory.awaitDeferred();
+    assertEquals("<div>" + placeholder(0) + "</div>" + swap(0, "<span>ready</span>")
+        + "<div>body</div>", out.toString());
+  }
+
+  public void testFlushDepth() {
+    CountingWriter out = new CountingWriter();
+    StreamingHtmlBuilderFactory factory =
+        StreamingHtmlBuilderFactory.create(out, StreamingHtmlBuilderFactory.DEFAULT_CHUNK_SIZE, 2);
+    DivBuilder div = factory.createDivBuilder();
+    div.startSpan().text("first").endSpan();
+    assertEquals("<div><span>first</span>", out.toString());
+    assertEquals(1, out.flushCount);
+
+    div.startSpan().startBR().endBR();
+    assertEquals("<div><span>first</span>", out.toString());
+    div.endSpan();
+    div.endDiv();
+    assertEquals("<div><span>first</span><span><br /></span></div>", out.toString());
+    assertEquals(3, out.flushCount);
+  }
+
+  public void testGetLength() {
+    CountingWriter out = new CountingWriter();
+    StreamingHtmlBuilderFactory factory = StreamingHtmlBuilderFactory.create(out, 16, 1);
+    HtmlTableBuilder table = factory.createTableBuilder();
+    TableSectionBuilder tbody = table.startTBody();
+    tbody.startTR().startTD().text("a").endTD();
+    tbody.startTD().text("b");
+    assertEquals("<table><tbody><tr><td>a</td><td>b".length(), table.getLength());
+
+    table.asSafeHtml();
+    assertEquals(out.toString().length(), table.getLength());
+  }
+
+  public void testIOExceptionIsRethrown() {
+    Writer out = new Writer() {
+      @Override
+      public void close() {
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void write(char[] cbuf, int off, int len) throws IOException {
+        throw new IOException("closed");
+      }
+    };
+    DivBuilder div = StreamingHtmlBuilderFactory.create(out).createDivBuilder();
+    try {
+      div.endDiv();
+      fail("Expected UncheckedIOException");
+    } catch (UncheckedIOException expected) {
+      assertEquals("closed", expected.getCause().getMessage());
+    }
+  }
+
+  public void testMatchesHtmlBuilderFactory() {
+    StringWriter out = new StringWriter();
+    StreamingHtmlBuilderFactory factory = StreamingHtmlBuilderFactory.create(out, 1, 1);
+    HtmlDivBuilder expected = HtmlBuilderFactory.get().createDivBuilder();
+    HtmlDivBuilder actual = factory.createDivBuilder();
+    for (HtmlDivBuilder div : new HtmlDivBuilder[] {expected, actual}) {
+      div.id("root").style().trustedColor("red").endStyle();
+      div.startAnchor().href("/a?b=1&c=2").text("<link>").endAnchor();
+      div.startTextInput().name("field").endInput();
+      UListBuilder ul = div.startUList();
+      ul.startLI().text("one").endLI();
+      ul.startLI().text("two").endLI();
+      ul.endUList();
+    }
+
+    String html = expected.asSafeHtml().asString();
+    actual.asSafeHtml();
+    assertEquals(html, out.toString());
+  }
+
+  public void testTopLevelElementsAreWrittenInOrder() {
+    StringBuilder out = new StringBuilder();
+    StreamingHtmlBuilderFactory factory = StreamingHtmlBuilderFactory.create(out);
+    factory.createDivBuilder().text("first").endDiv();
+    factory.createSpanBuilder().text("second").endSpan();
+
+    assertEquals("<div>first</div><span>second</span>", out.toString());
+  }
+}
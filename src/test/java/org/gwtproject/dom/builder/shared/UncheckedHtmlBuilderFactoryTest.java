@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.dom.builder.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import org.gwtproject.safehtml.shared.SafeHtmlUtils;
+
+/**
+ * Tests for {@link UncheckedHtmlBuilderFactory}.
+ */
+public class UncheckedHtmlBuilderFactoryTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    // JVM only.
+    return null;
+  }
+
+  public void testEscapes() {
+    HtmlDivBuilder div = UncheckedHtmlBuilderFactory.get().createDivBuilder();
+    div.attribute("data-<x>", "\"a\" & b").text("<b>");
+    assertEquals("<div data-&lt;x&gt;=\"&quot;a&quot; &amp; b\">&lt;b&gt;</div>", div
+        .asSafeHtml().asString());
+  }
+
+  public void testInvalidTagName() {
+    HtmlDivBuilder div = UncheckedHtmlBuilderFactory.get().createDivBuilder();
+    try {
+      div.trustedStart("<script");
+      fail("Expected IllegalArgumentException: tag names are still validated");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+
+  public void testRejectsContentInVoidElements() {
+    // The start tag of a void element is never closed, so content would be written inside it.
+    HtmlInputBuilder input = UncheckedHtmlBuilderFactory.get().createTextInputBuilder();
+    try {
+      input.text("x onfocus=alert(1) autofocus");
+      fail("Expected UnsupportedOperationException: input does not support text");
+    } catch (UnsupportedOperationException e) {
+      // Expected.
+    }
+
+    HtmlImageBuilder img = UncheckedHtmlBuilderFactory.get().createImageBuilder();
+    try {
+      img.html(SafeHtmlUtils.fromSafeConstant("<b>x</b>"));
+      fail("Expected UnsupportedOperationException: img does not support html");
+    } catch (UnsupportedOperationException e) {
+      // Expected.
+    }
+
+    HtmlDivBuilder div = UncheckedHtmlBuilderFactory.get().createDivBuilder();
+    div.startBR();
+    try {
+      div.startSpan();
+      fail("Expected UnsupportedOperationException: br does not support child elements");
+    } catch (UnsupportedOperationException e) {
+      // Expected.
+    }
+  }
+
+  public void testSameOutputAsChecked() {
+    assertEquals(renderTable(HtmlBuilderFactory.get()), renderTable(UncheckedHtmlBuilderFactory
+        .get()));
+  }
+
+  public void testSkipsStateChecks() {
+    HtmlDivBuilder div = UncheckedHtmlBuilderFactory.get().createDivBuilder();
+    div.startSpan().text("a").end("div");
+    div.startBR().endBR();
+    assertEquals("<div><span>a</span><br /></div>", div.asSafeHtml().asString());
+  }
+
+  private String renderTable(HtmlBuilderFactory factory) {
+    HtmlTableBuilder table = factory.createTableBuilder();
+    table.id("grid");
+    TableSectionBuilder tbody = table.startTBody();
+    for (int i = 0; i < 3; i++) {
+      TableRowBuilder tr = tbody.startTR().className("row");
+      TableCellBuilder td = tr.startTD();
+      td.style().trustedProperty("textAlign", "right").endStyle();
+      td.text("<" + i + ">").endTD();
+      tr.startTD().startCheckboxInput().endInput();
+      tr.endTD();
+      tr.endTR();
+    }
+    tbody.endTBody();
+    return table.asSafeHtml().asString();
+  }
+}